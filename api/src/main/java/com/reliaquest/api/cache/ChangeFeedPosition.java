@@ -0,0 +1,16 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.EmployeeChanges;
+
+/**
+ * Where a snapshot stands in the upstream change feed: it includes every change up to {@code version}, counted since
+ * the upstream started at {@code epoch}.
+ *
+ * @author Prashant Patel
+ */
+record ChangeFeedPosition(long epoch, long version) {
+
+    static ChangeFeedPosition of(EmployeeChanges changes) {
+        return new ChangeFeedPosition(changes.getEpoch(), changes.getVersion());
+    }
+}
@@ -0,0 +1,77 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.metrics.ApiMetrics;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.properties.CacheProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Names of the employees seen in upstream responses, by id, so that deleting an employee by name does not first need
+ * an upstream lookup of its name. Unlike {@link EmployeeSnapshotCache} it is kept up to date whether or not caching is
+ * enabled.
+ * <p>
+ * A full roster response replaces the whole index, dropping employees deleted elsewhere; single responses are added
+ * until the index holds {@code cache.idIndexMaxSize} entries. Entries may be stale, callers must cope with the upstream
+ * no longer knowing a name.
+ *
+ * @author Prashant Patel
+ */
+@Component
+public class EmployeeIdIndex {
+
+    @Autowired
+    private CacheProperties properties;
+
+    @Autowired
+    private ApiMetrics metrics;
+
+    private volatile Map<String, String> namesById = new ConcurrentHashMap<>();
+
+    public Optional<String> findName(String id) {
+        Optional<String> name = id == null ? Optional.empty() : Optional.ofNullable(namesById.get(id));
+        metrics.cacheLookup("idIndex", name.isPresent());
+        return name;
+    }
+
+    public int size() {
+        return namesById.size();
+    }
+
+    /**
+     * Replaces the index with the given roster.
+     */
+    public void replaceAll(List<Employee> roster) {
+        Map<String, String> names = new ConcurrentHashMap<>(Math.min(roster.size(), properties.getIdIndexMaxSize()) * 4 / 3 + 1);
+        for (Employee employee : roster) {
+            if (names.size() >= properties.getIdIndexMaxSize()) {
+                break;
+            }
+            if (employee != null && employee.getId() != null && employee.getName() != null) {
+                names.put(employee.getId(), employee.getName());
+            }
+        }
+        namesById = names;
+    }
+
+    public void put(Employee employee) {
+        if (employee == null || employee.getId() == null || employee.getName() == null) {
+            return;
+        }
+        Map<String, String> names = namesById;
+        if (names.size() < properties.getIdIndexMaxSize() || names.containsKey(employee.getId())) {
+            names.put(employee.getId(), employee.getName());
+        }
+    }
+
+    public void remove(String id) {
+        if (id != null) {
+            namesById.remove(id);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.index.NameSearchIndex;
+import com.reliaquest.api.index.SalaryIndex;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable point-in-time view of the upstream employee roster. Local writes never modify a snapshot in place, they
+ * derive a new one through {@link #withAll(List)} and {@link #withoutAll(Collection)} so readers can keep using whatever
+ * snapshot they obtained without any locking.
+ * <p>
+ * The {@link SalaryIndex} and the {@link NameSearchIndex} are built on first use and carried over incrementally to
+ * derived snapshots.
+ * <p>
+ * Every derived or reloaded snapshot is one version after the snapshot it replaces, so the version tells whether a
+ * reader's roster is still current. A snapshot following the upstream change feed also knows its position in the feed,
+ * which is carried over to derived snapshots: changes patched in locally come again from the feed and are skipped.
+ *
+ * @author Prashant Patel
+ */
+public final class EmployeeSnapshot {
+
+    private static final int INCREMENTAL_INDEX_LIMIT = 64;
+
+    private final List<Employee> employees;
+    private final Map<String, Employee> employeesById;
+    private final Instant loadedAt;
+    private final long version;
+    private final List<Employee> loadedFrom;
+    private final ChangeFeedPosition position;
+    private volatile SalaryIndex salaryIndex;
+    private volatile NameSearchIndex nameSearchIndex;
+
+    private EmployeeSnapshot(List<Employee> employees, Instant loadedAt, long version, List<Employee> loadedFrom,
+                             ChangeFeedPosition position, SalaryIndex salaryIndex, NameSearchIndex nameSearchIndex) {
+        this.employees = Collections.unmodifiableList(employees);
+        this.employeesById = new HashMap<>(employees.size() * 4 / 3 + 1);
+        for (Employee employee : employees) {
+            if (employee.getId() != null) {
+                employeesById.put(employee.getId(), employee);
+            }
+        }
+        this.loadedAt = loadedAt;
+        this.version = version;
+        this.loadedFrom = loadedFrom;
+        this.position = position;
+        this.salaryIndex = salaryIndex;
+        this.nameSearchIndex = nameSearchIndex;
+    }
+
+    /**
+     * Shares everything with the given snapshot but the feed position.
+     */
+    private EmployeeSnapshot(EmployeeSnapshot snapshot, ChangeFeedPosition position) {
+        this.employees = snapshot.employees;
+        this.employeesById = snapshot.employeesById;
+        this.loadedAt = snapshot.loadedAt;
+        this.version = snapshot.version;
+        this.loadedFrom = snapshot.loadedFrom;
+        this.position = position;
+        this.salaryIndex = snapshot.salaryIndex;
+        this.nameSearchIndex = snapshot.nameSearchIndex;
+    }
+
+    public static EmployeeSnapshot of(List<Employee> employees) {
+        return load(employees, 0);
+    }
+
+    /**
+     * @return a snapshot of the given roster, one version after this one
+     */
+    public EmployeeSnapshot reload(List<Employee> employees) {
+        return load(employees, version + 1);
+    }
+
+    private static EmployeeSnapshot load(List<Employee> employees, long version) {
+        List<Employee> copy = employees == null ? new ArrayList<>() : new ArrayList<>(employees);
+        copy.removeIf(Objects::isNull);
+        return new EmployeeSnapshot(copy, Instant.now(), version, employees, null, null, null);
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public Optional<Employee> findById(String id) {
+        return Optional.ofNullable(employeesById.get(id));
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the position in the upstream change feed, null when the snapshot does not follow the feed
+     */
+    ChangeFeedPosition getPosition() {
+        return position;
+    }
+
+    /**
+     * @return this snapshot at the given position in the upstream change feed; the roster and its version are the same
+     */
+    EmployeeSnapshot withPosition(ChangeFeedPosition position) {
+        return Objects.equals(this.position, position) ? this : new EmployeeSnapshot(this, position);
+    }
+
+    /**
+     * Applies the net effect of the given upstream changes: the last change of every id wins, and creates of employees
+     * the snapshot already holds as they are, e.g. patched in locally, are skipped.
+     *
+     * @return a snapshot at the position of the changes, or this snapshot if there is nothing to change
+     */
+    EmployeeSnapshot applying(EmployeeChanges changes) {
+        Map<String, Employee> created = new LinkedHashMap<>();
+        Set<String> deleted = new LinkedHashSet<>();
+        for (EmployeeChange change : changes.getChanges()) {
+            if (change.getId() == null) {
+                continue;
+            }
+            if (change.getType() == EmployeeChange.Type.DELETED) {
+                created.remove(change.getId());
+                deleted.add(change.getId());
+            } else if (change.getType() == EmployeeChange.Type.CREATED && change.getEmployee() != null) {
+                deleted.remove(change.getId());
+                created.put(change.getId(), change.getEmployee());
+            }
+        }
+        EmployeeSnapshot changed = withoutAll(deleted);
+        List<Employee> added = new ArrayList<>(created.size());
+        for (Employee employee : created.values()) {
+            if (!employee.equals(changed.employeesById.get(employee.getId()))) {
+                added.add(employee);
+            }
+        }
+        if (!added.isEmpty()) {
+            changed = changed.withAll(added);
+        }
+        return changed.withPosition(ChangeFeedPosition.of(changes));
+    }
+
+    /**
+     * @return whether this snapshot was loaded from exactly the given list and not derived since
+     */
+    public boolean isLoadedFrom(List<Employee> employees) {
+        return loadedFrom != null && loadedFrom == employees;
+    }
+
+    public SalaryIndex getSalaryIndex() {
+        SalaryIndex index = salaryIndex;
+        if (index == null) {
+            // Racing readers may both build the index; they produce equal results so either one may win.
+            index = SalaryIndex.of(employees);
+            salaryIndex = index;
+        }
+        return index;
+    }
+
+    public NameSearchIndex getNameSearchIndex() {
+        NameSearchIndex index = nameSearchIndex;
+        if (index == null) {
+            index = NameSearchIndex.of(employees);
+            nameSearchIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * @return a snapshot containing the given employee, replacing any entry with the same id
+     */
+    public EmployeeSnapshot with(Employee employee) {
+        return withAll(List.of(employee));
+    }
+
+    /**
+     * @return a snapshot containing the given employees; those sharing an id with an entry replace it in place, the
+     * others are appended in order
+     */
+    public EmployeeSnapshot withAll(List<Employee> added) {
+        Map<String, Employee> replacements = new HashMap<>();
+        for (Employee employee : added) {
+            if (employee.getId() != null && employeesById.containsKey(employee.getId())) {
+                replacements.put(employee.getId(), employee);
+            }
+        }
+        List<Employee> copy = new ArrayList<>(employees.size() + added.size());
+        List<Employee> replaced = new ArrayList<>();
+        List<Employee> inserted = new ArrayList<>();
+        for (Employee existing : employees) {
+            Employee replacement = existing.getId() == null ? null : replacements.remove(existing.getId());
+            if (replacement != null) {
+                copy.add(replacement);
+                replaced.add(existing);
+                inserted.add(replacement);
+            } else {
+                copy.add(existing);
+            }
+        }
+        for (Employee employee : added) {
+            if (employee.getId() == null || !employeesById.containsKey(employee.getId())) {
+                copy.add(employee);
+                inserted.add(employee);
+            }
+        }
+        return new EmployeeSnapshot(copy, loadedAt, version + 1, null, position, patchSalaryIndex(replaced, inserted),
+                patchNameSearchIndex(List.of(), added));
+    }
+
+    /**
+     * @return a snapshot without the employee with the given id, or this snapshot if there is no such employee
+     */
+    public EmployeeSnapshot without(String id) {
+        return withoutAll(Set.of(id));
+    }
+
+    /**
+     * @return a snapshot without the employees with the given ids, or this snapshot if there is none of them
+     */
+    public EmployeeSnapshot withoutAll(Collection<String> ids) {
+        List<Employee> removed = new ArrayList<>();
+        for (String id : ids) {
+            Employee employee = employeesById.get(id);
+            if (employee != null) {
+                removed.add(employee);
+            }
+        }
+        if (removed.isEmpty()) {
+            return this;
+        }
+        Set<String> removedIds = new HashSet<>(ids);
+        List<Employee> copy = new ArrayList<>(employees.size());
+        for (Employee existing : employees) {
+            if (existing.getId() == null || !removedIds.contains(existing.getId())) {
+                copy.add(existing);
+            }
+        }
+        return new EmployeeSnapshot(copy, loadedAt, version + 1, null, position, patchSalaryIndex(removed, List.of()),
+                patchNameSearchIndex(removedIds, List.of()));
+    }
+
+    /**
+     * Each incremental change of the salary index copies it once, so a large batch leaves the index to be rebuilt in
+     * one go on first use instead.
+     */
+    private SalaryIndex patchSalaryIndex(List<Employee> removed, List<Employee> added) {
+        SalaryIndex index = salaryIndex;
+        if (index == null || removed.size() + added.size() > INCREMENTAL_INDEX_LIMIT) {
+            return null;
+        }
+        for (Employee employee : removed) {
+            index = index.without(employee);
+        }
+        for (Employee employee : added) {
+            index = index.with(employee);
+        }
+        return index;
+    }
+
+    /**
+     * Patched like the salary index, and rebuilt instead once the index itself finds it patched too much.
+     */
+    private NameSearchIndex patchNameSearchIndex(Collection<String> removedIds, List<Employee> added) {
+        NameSearchIndex index = nameSearchIndex;
+        if (index == null || removedIds.size() + added.size() > INCREMENTAL_INDEX_LIMIT) {
+            return null;
+        }
+        return index.patched(removedIds, added);
+    }
+}
@@ -0,0 +1,185 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.metrics.ApiMetrics;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.properties.CacheProperties;
+import com.reliaquest.api.properties.UpstreamProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache of the upstream employee roster.
+ * <p>
+ * The roster is refreshed in the background every {@code cache.refreshIntervalMs}; readers are always served the last
+ * loaded snapshot (stale-while-revalidate) and only block on the upstream before the very first load. Local writes are
+ * patched into the current snapshot so they are visible immediately, without waiting for the next refresh.
+ * <p>
+ * Refreshes follow the upstream change feed, so their cost grows with the writes since the last refresh rather than
+ * with the roster. The whole roster is only read on the first load, when the feed no longer reaches back far enough,
+ * or when the upstream has no feed; a read the upstream answers with the roster already loaded keeps the snapshot and
+ * its version.
+ * <p>
+ * Both service modes read from it. The reactive service never blocks on a cold cache: it only {@link #peek()}s and
+ * calls the upstream itself until the first refresh has loaded a snapshot.
+ *
+ * @author Prashant Patel
+ */
+@Slf4j
+@Component
+public class EmployeeSnapshotCache {
+
+    @Autowired
+    private EmployeeApiClient employeeApiClient;
+
+    @Autowired
+    private CacheProperties properties;
+
+    @Autowired
+    private ApiMetrics metrics;
+
+    @Autowired
+    private UpstreamProperties upstreamProperties;
+
+    private final AtomicReference<EmployeeSnapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Tells snapshot versions counted since different starts apart.
+     */
+    private final long epoch = System.currentTimeMillis();
+
+    private volatile boolean changesSupported = true;
+
+    /**
+     * @return the cached snapshot, loading it on a cold cache. When caching is disabled every call hits the upstream.
+     */
+    public EmployeeSnapshot getSnapshot() {
+        if (!properties.isEnabled()) {
+            return EmployeeSnapshot.of(employeeApiClient.getAllEmployees());
+        }
+        EmployeeSnapshot current = snapshot.get();
+        metrics.cacheLookup("snapshot", current != null);
+        return current != null ? current : loadIfAbsent();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * @return the cached snapshot if one has been loaded, without ever calling the upstream
+     */
+    public Optional<EmployeeSnapshot> peek() {
+        Optional<EmployeeSnapshot> current = properties.isEnabled() ? Optional.ofNullable(snapshot.get()) : Optional.empty();
+        metrics.cacheLookup("snapshot", current.isPresent());
+        return current;
+    }
+
+    /**
+     * @return an entity tag of the cached snapshot, changing whenever the snapshot does; empty on a cold or disabled
+     * cache. Read it before the roster, which is then at least as recent as the tag.
+     */
+    public Optional<String> peekETag() {
+        EmployeeSnapshot current = properties.isEnabled() ? snapshot.get() : null;
+        return Optional.ofNullable(current).map(loaded -> "\"%x-%d\"".formatted(epoch, loaded.getVersion()));
+    }
+
+    /**
+     * Applies a local write to the cached snapshot. Nothing is done on a cold cache as the next load will fetch the
+     * change from the upstream anyway.
+     */
+    public void patch(UnaryOperator<EmployeeSnapshot> change) {
+        snapshot.updateAndGet(current -> current == null ? null : change.apply(current));
+    }
+
+    @Scheduled(initialDelayString = "${cache.initialDelayMs:0}", fixedDelayString = "${cache.refreshIntervalMs:30000}")
+    public void refresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            EmployeeSnapshot previous = snapshot.get();
+            EmployeeSnapshot fresh = load(previous);
+            if (fresh == previous) {
+                log.debug("Employee roster unchanged, keeping snapshot version {}.", previous.getVersion());
+                return;
+            }
+            // A local write landed while we were fetching; the fetched roster may predate it so keep the patched
+            // snapshot and pick the change up on the next refresh.
+            if (snapshot.compareAndSet(previous, fresh)) {
+                log.debug("Refreshed employee snapshot with {} employees.", fresh.size());
+            } else {
+                log.debug("Discarded employee snapshot refresh racing with a local write.");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh employee snapshot, serving stale data: {}", e.getMessage());
+        }
+    }
+
+    private synchronized EmployeeSnapshot loadIfAbsent() {
+        EmployeeSnapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        // A single upstream call for the blocked reader; the next refresh finds the snapshot's position in the feed.
+        EmployeeSnapshot fresh = EmployeeSnapshot.of(employeeApiClient.getAllEmployees());
+        return snapshot.compareAndSet(null, fresh) ? fresh : snapshot.get();
+    }
+
+    /**
+     * Applies the upstream changes since the position of the given snapshot when the change feed can tell them, and
+     * reads the whole roster otherwise, which the upstream answers with 304 while it is unchanged.
+     *
+     * @return the given snapshot if nothing changed
+     */
+    private EmployeeSnapshot load(EmployeeSnapshot previous) {
+        ChangeFeedPosition position = previous != null ? previous.getPosition() : null;
+        Optional<EmployeeChanges> changes = changesSince(position);
+        if (changes.isPresent() && !changes.get().isReset()) {
+            return previous.applying(changes.get());
+        }
+        List<Employee> employees = employeeApiClient.getAllEmployees();
+        EmployeeSnapshot loaded = previous == null ? EmployeeSnapshot.of(employees)
+                : previous.isLoadedFrom(employees) ? previous
+                : previous.reload(employees);
+        // The roster was read after the reset, so it includes at least every change up to the reset's version.
+        return changes.map(reset -> loaded.withPosition(ChangeFeedPosition.of(reset))).orElse(loaded);
+    }
+
+    /**
+     * @return the changes after the given position, a reset without one; empty when the upstream has no change feed
+     */
+    private Optional<EmployeeChanges> changesSince(ChangeFeedPosition position) {
+        if (!upstreamProperties.isChanges() || !changesSupported) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(position == null
+                    ? employeeApiClient.getChanges(null, null, Duration.ZERO)
+                    : employeeApiClient.getChanges(position.version(), position.epoch(),
+                            upstreamProperties.getChangesWait()));
+        } catch (HttpStatusCodeException e) {
+            // An upstream without the feed takes "changes" for an employee id, which it rejects as a bad request.
+            HttpStatusCode status = e.getStatusCode();
+            if (!HttpStatus.NOT_FOUND.equals(status) && !HttpStatus.METHOD_NOT_ALLOWED.equals(status)
+                    && !HttpStatus.BAD_REQUEST.equals(status)) {
+                throw e;
+            }
+            log.info("Upstream has no change feed, reading the whole roster on every refresh from now on.");
+            changesSupported = false;
+            return Optional.empty();
+        }
+    }
+}
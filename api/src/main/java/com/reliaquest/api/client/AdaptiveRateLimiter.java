@@ -0,0 +1,157 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.properties.UpstreamProperties;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket shaping the calls to the Mock Employee API, whose rate limit is unknown and changes on every start.
+ * <p>
+ * The rate grows additively with every accepted call and shrinks multiplicatively with every 429 (AIMD). A 429 also
+ * blocks all calls for the upstream's {@code Retry-After}, or else for the rejection window learned from the previous
+ * 429 (time from the first rejection to the next accepted call), or else for an exponentially growing backoff. Once
+ * the block expires a single call probes the upstream before the bucket lets the others through.
+ *
+ * @author Prashant Patel
+ */
+public class AdaptiveRateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final UpstreamProperties.RateLimit settings;
+    private final LongSupplier nanoClock;
+
+    private double permitsPerSecond;
+    private long theoreticalArrivalNanos;
+    private long blockedUntilNanos;
+    private int consecutiveRejections;
+    private long rejectionStartedNanos;
+    private long learnedWindowNanos;
+
+    public AdaptiveRateLimiter(UpstreamProperties.RateLimit settings) {
+        this(settings, System::nanoTime);
+    }
+
+    AdaptiveRateLimiter(UpstreamProperties.RateLimit settings, LongSupplier nanoClock) {
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.permitsPerSecond = settings.getInitialRate();
+        long now = nanoClock.getAsLong();
+        this.theoreticalArrivalNanos = now;
+        this.blockedUntilNanos = now;
+    }
+
+    /**
+     * Reserves the next permit if it is available within {@code maxWaitNanos}.
+     *
+     * @return the nanos to wait before sending the call, or -1 when the permit is further away than allowed, in which
+     * case nothing is reserved
+     */
+    public synchronized long tryReserve(long maxWaitNanos) {
+        long now = nanoClock.getAsLong();
+        long interval = intervalNanos();
+        long earliest = Math.max(now, blockedUntilNanos);
+        long arrival = Math.max(theoreticalArrivalNanos, earliest);
+        long sendAt = Math.max(earliest, arrival - toleranceNanos(interval));
+        long wait = sendAt - now;
+        if (wait > maxWaitNanos) {
+            return -1;
+        }
+        theoreticalArrivalNanos = arrival + interval;
+        return wait;
+    }
+
+    /**
+     * Blocks until a permit is granted. Callers whose reservation falls inside a block that started while they were
+     * waiting queue up again behind it.
+     *
+     * @return false when no permit can be granted within {@code maxWait}
+     */
+    public boolean acquire(Duration maxWait) throws InterruptedException {
+        long deadline = nanoClock.getAsLong() + maxWait.toNanos();
+        while (true) {
+            long wait = tryReserve(deadline - nanoClock.getAsLong());
+            if (wait < 0) {
+                return false;
+            }
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            if (!isBlocked()) {
+                return true;
+            }
+        }
+    }
+
+    public synchronized boolean isBlocked() {
+        return blockedUntilNanos - nanoClock.getAsLong() > 0;
+    }
+
+    public synchronized double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public synchronized void onAccepted() {
+        permitsPerSecond = Math.min(settings.getMaxRate(), permitsPerSecond + settings.getAdditiveIncrease());
+        if (consecutiveRejections > 0) {
+            long observedWindow = nanoClock.getAsLong() - rejectionStartedNanos;
+            learnedWindowNanos = learnedWindowNanos == 0 ? observedWindow : (learnedWindowNanos + observedWindow) / 2;
+            consecutiveRejections = 0;
+        }
+    }
+
+    /**
+     * @param retryAfter the upstream's {@code Retry-After}, or null when it did not send one
+     */
+    public synchronized void onRejected(Duration retryAfter) {
+        long now = nanoClock.getAsLong();
+        permitsPerSecond = Math.max(settings.getMinRate(), permitsPerSecond * settings.getMultiplicativeDecrease());
+        if (consecutiveRejections++ == 0) {
+            rejectionStartedNanos = now;
+        }
+        long penalty;
+        if (retryAfter != null) {
+            penalty = retryAfter.toNanos();
+        } else if (learnedWindowNanos > 0 && consecutiveRejections == 1) {
+            penalty = learnedWindowNanos;
+        } else {
+            long backoff = settings.getInitialBackoff().toNanos() << Math.min(consecutiveRejections - 1, 20);
+            penalty = Math.min(settings.getMaxBackoff().toNanos(), backoff);
+        }
+        blockedUntilNanos = Math.max(blockedUntilNanos, now + penalty);
+        // Only let a single probe through when the block expires.
+        theoreticalArrivalNanos = Math.max(theoreticalArrivalNanos, blockedUntilNanos + toleranceNanos(intervalNanos()));
+    }
+
+    /**
+     * @return the delay of a {@code Retry-After} header given in seconds or as an HTTP date, or null if absent or invalid
+     */
+    public static Duration parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Duration delay = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private long intervalNanos() {
+        return (long) (NANOS_PER_SECOND / permitsPerSecond);
+    }
+
+    private long toleranceNanos(long interval) {
+        return interval * Math.max(0, settings.getBurst() - 1);
+    }
+}
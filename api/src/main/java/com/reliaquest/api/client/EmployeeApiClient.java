@@ -0,0 +1,342 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.cache.EmployeeIdIndex;
+import com.reliaquest.api.exceptionhandler.ApiException;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.DeleteEmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeBatchRequest;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeeRequest;
+import com.reliaquest.api.model.SalaryStatistics;
+import com.reliaquest.api.properties.UrlProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Performs the round-trips to the Mock Employee API. Every upstream call of the API module goes through this class.
+ * <p>
+ * Concurrent reads of the same resource are coalesced into a single upstream call whose parsed result is shared.
+ *
+ * @author Prashant Patel
+ */
+@Slf4j
+@Component
+public class EmployeeApiClient {
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private UrlProperties properties;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private EmployeeIdIndex employeeIdIndex;
+
+    private final SingleFlight<String, List<Employee>> allEmployeesFlight = new SingleFlight<>();
+
+    private final SingleFlight<String, Employee> employeeByIdFlight = new SingleFlight<>();
+
+    private volatile TaggedEmployees lastEmployees;
+
+    /**
+     * Conditional on the last roster read: when the upstream answers 304 that same list is returned again.
+     *
+     * @return the roster; the list may be shared with concurrent callers and must not be modified
+     */
+    public List<Employee> getAllEmployees() {
+        return allEmployeesFlight.execute(properties.getEmployee(), this::fetchAllEmployees);
+    }
+
+    /**
+     * Reads the roster one employee at a time straight off the response stream, so callers computing a result in a
+     * single pass never hold the full list in memory. Streamed reads are not coalesced.
+     */
+    public void streamAllEmployees(Consumer<Employee> consumer) {
+        streamEmployeesWhile(employee -> {
+            consumer.accept(employee);
+            return true;
+        });
+    }
+
+    /**
+     * Like {@link #streamAllEmployees(Consumer)}, but stops reading at the first employee the consumer returns
+     * {@code false} for; the rest of the response is never parsed.
+     */
+    public void streamEmployeesWhile(Predicate<Employee> consumer) {
+        ObjectReader employeeReader = mapper.readerFor(Employee.class);
+        restTemplate.execute(properties.getEmployee(), HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                response -> {
+                    readEmployees(response.getBody(), employeeReader, employee -> {
+                        employeeIdIndex.put(employee);
+                        return consumer.test(employee);
+                    });
+                    return null;
+                });
+    }
+
+    public Employee getEmployeeById(String id) {
+        return employeeByIdFlight.execute(id, () -> fetchEmployeeById(id));
+    }
+
+    private List<Employee> fetchAllEmployees() {
+        String url = properties.getEmployee();
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        TaggedEmployees last = lastEmployees;
+        if (last != null) {
+            headers.setIfNoneMatch(last.eTag());
+        }
+        ParameterizedTypeReference<ApiResponse<List<Employee>>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        ResponseEntity<ApiResponse<List<Employee>>> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), typeReference);
+        if (last != null && HttpStatus.NOT_MODIFIED.equals(response.getStatusCode())) {
+            return last.employees();
+        }
+        List<Employee> employees = new ArrayList<>();
+        if (response.getBody() != null && response.getBody().getData() != null) {
+            employees = response.getBody().getData();
+            employeeIdIndex.replaceAll(employees);
+        }
+        String eTag = response.getHeaders().getETag();
+        lastEmployees = eTag != null ? new TaggedEmployees(eTag, employees) : null;
+        return employees;
+    }
+
+    /**
+     * Walks the {@code ApiResponse} tokens, binding each element of its {@code data} array and skipping everything else,
+     * until the consumer returns {@code false}.
+     */
+    private void readEmployees(InputStream body, ObjectReader employeeReader, Predicate<Employee> consumer) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    JsonToken element;
+                    while ((element = parser.nextToken()) != null && element != JsonToken.END_ARRAY) {
+                        if (element == JsonToken.START_OBJECT) {
+                            if (!consumer.test(employeeReader.readValue(parser))) {
+                                return;
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private Employee fetchEmployeeById(String id) {
+        String url = String.format(properties.getEmployeeById(), id);
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ParameterizedTypeReference<ApiResponse<Employee>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        try {
+            ResponseEntity<ApiResponse<Employee>> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), typeReference);
+            if (response.getBody() != null) {
+                employeeIdIndex.put(response.getBody().getData());
+                return response.getBody().getData();
+            }
+        } catch (HttpStatusCodeException e) {
+            if (HttpStatus.NOT_FOUND.equals(e.getStatusCode())) {
+                throw new ApiException(HttpStatus.NOT_FOUND, "Employee with " + id + " not found.");
+            }
+            throw e;
+        }
+        return null;
+    }
+
+    public Employee createEmployee(EmployeeRequest employeeInput) {
+        String url = properties.getEmployee();
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<EmployeeRequest> httpEntity = new HttpEntity<>(employeeInput, headers);
+        ParameterizedTypeReference<ApiResponse<Employee>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        ResponseEntity<ApiResponse<Employee>> response = restTemplate.exchange(url, HttpMethod.POST, httpEntity, typeReference);
+        if (response.getBody() != null) {
+            employeeIdIndex.put(response.getBody().getData());
+            return response.getBody().getData();
+        }
+        return null;
+    }
+
+    /**
+     * @throws HttpStatusCodeException when the upstream rejects the request, {@code NOT_FOUND} or
+     * {@code METHOD_NOT_ALLOWED} when it has no aggregate endpoints
+     */
+    public SalaryStatistics getSalaryStatistics() {
+        ParameterizedTypeReference<ApiResponse<SalaryStatistics>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        ResponseEntity<ApiResponse<SalaryStatistics>> response =
+                restTemplate.exchange(properties.getEmployeeStats() + "/salary", HttpMethod.GET, HttpEntity.EMPTY, typeReference);
+        if (response.getBody() != null && response.getBody().getData() != null) {
+            return response.getBody().getData();
+        }
+        return new SalaryStatistics();
+    }
+
+    /**
+     * @return up to {@code count} employees, highest salary first; the upstream caps {@code count} at 1000
+     * @throws HttpStatusCodeException when the upstream rejects the request, {@code NOT_FOUND} or
+     * {@code METHOD_NOT_ALLOWED} when it has no aggregate endpoints
+     */
+    public List<Employee> getTopEarners(int count) {
+        ParameterizedTypeReference<ApiResponse<List<Employee>>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        ResponseEntity<ApiResponse<List<Employee>>> response = restTemplate.exchange(
+                properties.getEmployeeStats() + "/topEarners?limit={limit}", HttpMethod.GET, HttpEntity.EMPTY, typeReference, count);
+        if (response.getBody() != null && response.getBody().getData() != null) {
+            return response.getBody().getData();
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Reads the upstream changes after the given roster version, letting the upstream hold the request for up to
+     * {@code wait} while there are none yet.
+     *
+     * @param since roster version to follow the roster from, null to learn the current version, which comes as a reset
+     * @throws HttpStatusCodeException when the upstream rejects the request, {@code NOT_FOUND},
+     * {@code METHOD_NOT_ALLOWED} or {@code BAD_REQUEST} when it has no change feed
+     */
+    public EmployeeChanges getChanges(Long since, Long epoch, Duration wait) {
+        URI uri = UriComponentsBuilder.fromUriString(properties.getEmployeeChanges())
+                .queryParamIfPresent("since", Optional.ofNullable(since))
+                .queryParamIfPresent("epoch", Optional.ofNullable(epoch))
+                .queryParam("waitMs", wait.toMillis())
+                .build()
+                .toUri();
+        ParameterizedTypeReference<ApiResponse<EmployeeChanges>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        ResponseEntity<ApiResponse<EmployeeChanges>> response = restTemplate.exchange(uri, HttpMethod.GET, HttpEntity.EMPTY, typeReference);
+        if (response.getBody() == null || response.getBody().getData() == null) {
+            return new EmployeeChanges(0, 0, true, new ArrayList<>());
+        }
+        EmployeeChanges changes = response.getBody().getData();
+        for (EmployeeChange change : changes.getChanges()) {
+            if (change.getType() == EmployeeChange.Type.CREATED && change.getEmployee() != null) {
+                employeeIdIndex.put(change.getEmployee());
+            } else if (change.getType() == EmployeeChange.Type.DELETED && change.getId() != null) {
+                employeeIdIndex.remove(change.getId());
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Deletes through the upstream delete-by-id endpoint, a single round-trip.
+     *
+     * @return the deleted employee
+     * @throws ApiException with {@code NOT_FOUND} when the upstream knows no employee with the given id
+     * @throws HttpStatusCodeException when the upstream rejects the request, {@code METHOD_NOT_ALLOWED} when it does
+     * not support deleting by id
+     */
+    public Employee deleteEmployeeById(String id) {
+        String url = String.format(properties.getEmployeeById(), id);
+        ParameterizedTypeReference<ApiResponse<Employee>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        try {
+            ResponseEntity<ApiResponse<Employee>> response = restTemplate.exchange(url, HttpMethod.DELETE, HttpEntity.EMPTY, typeReference);
+            employeeIdIndex.remove(id);
+            return response.getBody() != null ? response.getBody().getData() : null;
+        } catch (HttpStatusCodeException e) {
+            if (HttpStatus.NOT_FOUND.equals(e.getStatusCode())) {
+                employeeIdIndex.remove(id);
+                throw new ApiException(HttpStatus.NOT_FOUND, "Employee with " + id + " not found.");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return whether the upstream removed an employee with the given name
+     * @throws HttpStatusCodeException when the upstream rejects the request
+     */
+    public boolean deleteEmployeeByName(String name) {
+        String url = properties.getEmployee();
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<DeleteEmployeeRequest> httpEntity = new HttpEntity<>(new DeleteEmployeeRequest(name), headers);
+        ParameterizedTypeReference<ApiResponse<Boolean>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        ResponseEntity<ApiResponse<Boolean>> response = restTemplate.exchange(url, HttpMethod.DELETE, httpEntity, typeReference);
+        return response.getBody() != null && Boolean.TRUE.equals(response.getBody().getData());
+    }
+
+    /**
+     * Creates up to 1000 employees in one round-trip.
+     *
+     * @return the created employees in input order
+     * @throws HttpStatusCodeException when the upstream rejects the request
+     */
+    public List<Employee> createEmployees(List<EmployeeRequest> employeeInputs) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<EmployeeBatchRequest<EmployeeRequest>> httpEntity =
+                new HttpEntity<>(new EmployeeBatchRequest<>(employeeInputs), headers);
+        ParameterizedTypeReference<ApiResponse<List<Employee>>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        ResponseEntity<ApiResponse<List<Employee>>> response =
+                restTemplate.exchange(properties.getEmployeeBatch(), HttpMethod.POST, httpEntity, typeReference);
+        if (response.getBody() != null && response.getBody().getData() != null) {
+            response.getBody().getData().forEach(employeeIdIndex::put);
+            return response.getBody().getData();
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Deletes by name up to 1000 times in one round-trip.
+     *
+     * @return for every name in order, whether the upstream removed an employee with that name
+     * @throws HttpStatusCodeException when the upstream rejects the request
+     */
+    public List<Boolean> deleteEmployeesByName(List<String> names) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<EmployeeBatchRequest<DeleteEmployeeRequest>> httpEntity = new HttpEntity<>(
+                new EmployeeBatchRequest<>(names.stream().map(DeleteEmployeeRequest::new).toList()), headers);
+        ParameterizedTypeReference<ApiResponse<List<Boolean>>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        ResponseEntity<ApiResponse<List<Boolean>>> response =
+                restTemplate.exchange(properties.getEmployeeBatch(), HttpMethod.DELETE, httpEntity, typeReference);
+        if (response.getBody() != null && response.getBody().getData() != null) {
+            return response.getBody().getData();
+        }
+        return new ArrayList<>();
+    }
+}
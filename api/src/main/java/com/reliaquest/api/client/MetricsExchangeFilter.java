@@ -0,0 +1,34 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.metrics.ApiMetrics;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link MetricsInterceptor}, registered after the {@link RateLimitingExchangeFilter}.
+ *
+ * @author Prashant Patel
+ */
+public class MetricsExchangeFilter implements ExchangeFilterFunction {
+
+    private final ApiMetrics metrics;
+
+    public MetricsExchangeFilter(ApiMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnNext(response -> metrics.upstreamCall(request.method(), request.url(),
+                            String.valueOf(response.statusCode().value()), System.nanoTime() - start))
+                    .doOnError(e -> metrics.upstreamCall(request.method(), request.url(), ApiMetrics.NO_RESPONSE,
+                            System.nanoTime() - start));
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.metrics.ApiMetrics;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Times every {@code RestTemplate} call to the upstream until its response headers arrive. Registered after the
+ * {@link RateLimitingInterceptor} so each retry is timed on its own and the wait for a permit is not counted.
+ *
+ * @author Prashant Patel
+ */
+public class MetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ApiMetrics metrics;
+
+    public MetricsInterceptor(ApiMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        long start = System.nanoTime();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            metrics.upstreamCall(request.getMethod(), request.getURI(), String.valueOf(response.getStatusCode().value()), System.nanoTime() - start);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            metrics.upstreamCall(request.getMethod(), request.getURI(), ApiMetrics.NO_RESPONSE, System.nanoTime() - start);
+            throw e;
+        }
+    }
+}
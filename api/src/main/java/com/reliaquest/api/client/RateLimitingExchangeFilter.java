@@ -0,0 +1,72 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exceptionhandler.ApiException;
+import com.reliaquest.api.properties.UpstreamProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Reactive counterpart of {@link RateLimitingInterceptor}: waits for the {@link AdaptiveRateLimiter} permit with a
+ * timer instead of a sleeping thread.
+ *
+ * @author Prashant Patel
+ */
+public class RateLimitingExchangeFilter implements ExchangeFilterFunction {
+
+    private final AdaptiveRateLimiter rateLimiter;
+    private final UpstreamProperties.RateLimit settings;
+
+    public RateLimitingExchangeFilter(AdaptiveRateLimiter rateLimiter, UpstreamProperties.RateLimit settings) {
+        this.rateLimiter = rateLimiter;
+        this.settings = settings;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        boolean retryable = HttpMethod.GET.equals(request.method());
+        Mono<ClientResponse> attempt = Mono.defer(() -> {
+            long wait = rateLimiter.tryReserve(settings.getMaxWait().toNanos());
+            if (wait < 0) {
+                return Mono.error(new ApiException(HttpStatus.TOO_MANY_REQUESTS, "Too many request. Please try after some time."));
+            }
+            return Mono.delay(Duration.ofNanos(wait)).then(next.exchange(request));
+        }).flatMap(response -> {
+            if (response.statusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                rateLimiter.onAccepted();
+                return Mono.just(response);
+            }
+            HttpHeaders headers = response.headers().asHttpHeaders();
+            rateLimiter.onRejected(AdaptiveRateLimiter.parseRetryAfter(headers.getFirst(HttpHeaders.RETRY_AFTER)));
+            return retryable ? response.releaseBody().then(Mono.error(new Rejected(headers))) : Mono.just(response);
+        });
+        if (!retryable) {
+            return attempt;
+        }
+        return attempt.retryWhen(Retry.backoff(settings.getMaxRetries(), settings.getInitialBackoff())
+                .maxBackoff(settings.getMaxBackoff())
+                .jitter(1.0)
+                .filter(Rejected.class::isInstance)
+                .onRetryExhaustedThrow((spec, signal) -> HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS,
+                        HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(), ((Rejected) signal.failure()).headers, new byte[0], null)));
+    }
+
+    private static class Rejected extends RuntimeException {
+
+        private final HttpHeaders headers;
+
+        Rejected(HttpHeaders headers) {
+            super(null, null, false, false);
+            this.headers = headers;
+        }
+    }
+}
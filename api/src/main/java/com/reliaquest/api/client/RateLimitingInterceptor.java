@@ -0,0 +1,81 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exceptionhandler.ApiException;
+import com.reliaquest.api.properties.UpstreamProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends every {@code RestTemplate} call through the {@link AdaptiveRateLimiter} and reports the outcome back to it.
+ * Rejected GETs are retried with full-jitter exponential backoff; other methods are not idempotent and never retried.
+ *
+ * @author Prashant Patel
+ */
+@Slf4j
+public class RateLimitingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AdaptiveRateLimiter rateLimiter;
+    private final UpstreamProperties.RateLimit settings;
+
+    public RateLimitingInterceptor(AdaptiveRateLimiter rateLimiter, UpstreamProperties.RateLimit settings) {
+        this.rateLimiter = rateLimiter;
+        this.settings = settings;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        boolean retryable = HttpMethod.GET.equals(request.getMethod());
+        for (int attempt = 0; ; attempt++) {
+            acquirePermit(request);
+            ClientHttpResponse response = execution.execute(request, body);
+            if (!HttpStatus.TOO_MANY_REQUESTS.equals(response.getStatusCode())) {
+                rateLimiter.onAccepted();
+                return response;
+            }
+            rateLimiter.onRejected(AdaptiveRateLimiter.parseRetryAfter(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)));
+            if (!retryable || attempt >= settings.getMaxRetries()) {
+                return response;
+            }
+            response.close();
+            log.debug("{} {} was rate limited, retrying.", request.getMethod(), request.getURI());
+            sleep(jitteredBackoffMillis(attempt));
+        }
+    }
+
+    private void acquirePermit(HttpRequest request) throws InterruptedIOException {
+        try {
+            if (!rateLimiter.acquire(settings.getMaxWait())) {
+                log.debug("No upstream permit for {} {} within {}.", request.getMethod(), request.getURI(), settings.getMaxWait());
+                throw new ApiException(HttpStatus.TOO_MANY_REQUESTS, "Too many request. Please try after some time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an upstream permit.");
+        }
+    }
+
+    private long jitteredBackoffMillis(int attempt) {
+        long ceiling = Math.min(settings.getMaxBackoff().toMillis(), settings.getInitialBackoff().toMillis() << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backing off from the upstream.");
+        }
+    }
+}
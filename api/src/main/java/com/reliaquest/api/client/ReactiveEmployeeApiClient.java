@@ -0,0 +1,237 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exceptionhandler.ApiException;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.DeleteEmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeBatchRequest;
+import com.reliaquest.api.model.EmployeeRequest;
+import com.reliaquest.api.model.SalaryStatistics;
+import com.reliaquest.api.properties.UrlProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeApiClient}. No thread is held while a call is in flight.
+ * <p>
+ * Upstream error statuses are surfaced as the same {@link org.springframework.web.client.HttpStatusCodeException}s
+ * the blocking client throws, so {@code ControllerExceptionHandler} handles both modes alike. As in the blocking
+ * client, concurrent reads of the same resource subscribe to a single in-flight upstream call.
+ *
+ * @author Prashant Patel
+ */
+@Component
+@ConditionalOnProperty(prefix = "service", name = "mode", havingValue = "reactive")
+public class ReactiveEmployeeApiClient {
+
+    @Autowired
+    private WebClient upstreamWebClient;
+
+    @Autowired
+    private UrlProperties properties;
+
+    private final Map<String, Mono<List<Employee>>> allEmployeesInFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, Mono<Employee>> employeeByIdInFlight = new ConcurrentHashMap<>();
+
+    private volatile TaggedEmployees lastEmployees;
+
+    /**
+     * Conditional on the last roster read: when the upstream answers 304 that same list is emitted again.
+     *
+     * @return the roster; the list may be shared with concurrent subscribers and must not be modified
+     */
+    public Mono<List<Employee>> getAllEmployees() {
+        return shared(allEmployeesInFlight, properties.getEmployee(), this::fetchAllEmployees);
+    }
+
+    public Mono<Employee> getEmployeeById(String id) {
+        return shared(employeeByIdInFlight, id, () -> fetchEmployeeById(id));
+    }
+
+    private Mono<List<Employee>> fetchAllEmployees() {
+        ParameterizedTypeReference<ApiResponse<List<Employee>>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        TaggedEmployees last = lastEmployees;
+        return upstreamWebClient.get()
+                .uri(properties.getEmployee())
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (last != null) {
+                        headers.setIfNoneMatch(last.eTag());
+                    }
+                })
+                .retrieve()
+                .toEntity(typeReference)
+                .map(response -> {
+                    if (last != null && HttpStatus.NOT_MODIFIED.equals(response.getStatusCode())) {
+                        return last.employees();
+                    }
+                    List<Employee> employees = response.getBody() != null && response.getBody().getData() != null
+                            ? response.getBody().getData()
+                            : new ArrayList<>();
+                    String eTag = response.getHeaders().getETag();
+                    lastEmployees = eTag != null ? new TaggedEmployees(eTag, employees) : null;
+                    return employees;
+                })
+                .onErrorMap(WebClientResponseException.class, ReactiveEmployeeApiClient::toHttpStatusCodeException);
+    }
+
+    private Mono<Employee> fetchEmployeeById(String id) {
+        ParameterizedTypeReference<ApiResponse<Employee>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        return upstreamWebClient.get()
+                .uri(String.format(properties.getEmployeeById(), id))
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(typeReference)
+                .mapNotNull(ApiResponse::getData)
+                .onErrorMap(WebClientResponseException.class, e -> HttpStatus.NOT_FOUND.equals(e.getStatusCode())
+                        ? new ApiException(HttpStatus.NOT_FOUND, "Employee with " + id + " not found.")
+                        : toHttpStatusCodeException(e));
+    }
+
+    public Mono<Employee> createEmployee(EmployeeRequest employeeInput) {
+        ParameterizedTypeReference<ApiResponse<Employee>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        return upstreamWebClient.post()
+                .uri(properties.getEmployee())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employeeInput)
+                .retrieve()
+                .bodyToMono(typeReference)
+                .mapNotNull(ApiResponse::getData)
+                .onErrorMap(WebClientResponseException.class, ReactiveEmployeeApiClient::toHttpStatusCodeException);
+    }
+
+    /**
+     * @return whether the upstream removed an employee with the given name
+     */
+    public Mono<Boolean> deleteEmployeeByName(String name) {
+        ParameterizedTypeReference<ApiResponse<Boolean>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        return upstreamWebClient.method(HttpMethod.DELETE)
+                .uri(properties.getEmployee())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new DeleteEmployeeRequest(name))
+                .retrieve()
+                .bodyToMono(typeReference)
+                .map(response -> Boolean.TRUE.equals(response.getData()))
+                .defaultIfEmpty(false)
+                .onErrorMap(WebClientResponseException.class, ReactiveEmployeeApiClient::toHttpStatusCodeException);
+    }
+
+    public Mono<SalaryStatistics> getSalaryStatistics() {
+        ParameterizedTypeReference<ApiResponse<SalaryStatistics>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        return upstreamWebClient.get()
+                .uri(properties.getEmployeeStats() + "/salary")
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(typeReference)
+                .mapNotNull(ApiResponse::getData)
+                .defaultIfEmpty(new SalaryStatistics())
+                .onErrorMap(WebClientResponseException.class, ReactiveEmployeeApiClient::toHttpStatusCodeException);
+    }
+
+    /**
+     * @return up to {@code count} employees, highest salary first; the upstream caps {@code count} at 1000
+     */
+    public Mono<List<Employee>> getTopEarners(int count) {
+        ParameterizedTypeReference<ApiResponse<List<Employee>>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        return upstreamWebClient.get()
+                .uri(properties.getEmployeeStats() + "/topEarners?limit={limit}", count)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(typeReference)
+                .mapNotNull(ApiResponse::getData)
+                .defaultIfEmpty(new ArrayList<>())
+                .onErrorMap(WebClientResponseException.class, ReactiveEmployeeApiClient::toHttpStatusCodeException);
+    }
+
+    /**
+     * @return the employee deleted through the upstream delete-by-id endpoint; fails with {@code NOT_FOUND} as an
+     * {@link ApiException}, and with {@code METHOD_NOT_ALLOWED} when the upstream does not support deleting by id
+     */
+    public Mono<Employee> deleteEmployeeById(String id) {
+        ParameterizedTypeReference<ApiResponse<Employee>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        return upstreamWebClient.method(HttpMethod.DELETE)
+                .uri(String.format(properties.getEmployeeById(), id))
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(typeReference)
+                .mapNotNull(ApiResponse::getData)
+                .onErrorMap(WebClientResponseException.class, e -> HttpStatus.NOT_FOUND.equals(e.getStatusCode())
+                        ? new ApiException(HttpStatus.NOT_FOUND, "Employee with " + id + " not found.")
+                        : toHttpStatusCodeException(e));
+    }
+
+    /**
+     * @return the created employees in input order
+     */
+    public Mono<List<Employee>> createEmployees(List<EmployeeRequest> employeeInputs) {
+        ParameterizedTypeReference<ApiResponse<List<Employee>>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        return upstreamWebClient.post()
+                .uri(properties.getEmployeeBatch())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new EmployeeBatchRequest<>(employeeInputs))
+                .retrieve()
+                .bodyToMono(typeReference)
+                .mapNotNull(ApiResponse::getData)
+                .defaultIfEmpty(List.of())
+                .onErrorMap(WebClientResponseException.class, ReactiveEmployeeApiClient::toHttpStatusCodeException);
+    }
+
+    /**
+     * @return for every name in order, whether the upstream removed an employee with that name
+     */
+    public Mono<List<Boolean>> deleteEmployeesByName(List<String> names) {
+        ParameterizedTypeReference<ApiResponse<List<Boolean>>> typeReference = new ParameterizedTypeReference<>() {
+        };
+        return upstreamWebClient.method(HttpMethod.DELETE)
+                .uri(properties.getEmployeeBatch())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new EmployeeBatchRequest<>(names.stream().map(DeleteEmployeeRequest::new).toList()))
+                .retrieve()
+                .bodyToMono(typeReference)
+                .mapNotNull(ApiResponse::getData)
+                .defaultIfEmpty(List.of())
+                .onErrorMap(WebClientResponseException.class, ReactiveEmployeeApiClient::toHttpStatusCodeException);
+    }
+
+    /**
+     * Subscribers arriving while a call for the same key is in flight share its result instead of starting another.
+     */
+    private static <T> Mono<T> shared(Map<String, Mono<T>> inFlight, String key, Supplier<Mono<T>> call) {
+        // The entry is only removed once its call terminated, so it can never remove a newer call for the same key.
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> call.get().doFinally(signal -> inFlight.remove(k)).cache()));
+    }
+
+    private static Throwable toHttpStatusCodeException(WebClientResponseException e) {
+        if (e.getStatusCode().is4xxClientError()) {
+            return HttpClientErrorException.create(e.getStatusCode(), e.getStatusText(), e.getHeaders(),
+                    e.getResponseBodyAsByteArray(), null);
+        }
+        return HttpServerErrorException.create(e.getStatusCode(), e.getStatusText(), e.getHeaders(),
+                e.getResponseBodyAsByteArray(), null);
+    }
+}
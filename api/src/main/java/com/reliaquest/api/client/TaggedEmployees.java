@@ -0,0 +1,14 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.Employee;
+
+import java.util.List;
+
+/**
+ * The last roster read from the upstream with the {@code ETag} it came with, sent back as {@code If-None-Match} so an
+ * unchanged roster is answered with 304 and reused instead of being transferred and parsed again.
+ *
+ * @author Prashant Patel
+ */
+record TaggedEmployees(String eTag, List<Employee> employees) {
+}
@@ -0,0 +1,129 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import com.reliaquest.api.client.MetricsInterceptor;
+import com.reliaquest.api.client.RateLimitingInterceptor;
+import com.reliaquest.api.metrics.ApiMetrics;
+import com.reliaquest.api.properties.UpstreamProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * HTTP client used to call the Mock Employee API. By default this is a pooled Apache HTTP/1.1 client keeping
+ * connections alive between calls; {@code upstream.http2} switches to the JDK client negotiating HTTP/2. Either way
+ * calls are shaped by the {@link AdaptiveRateLimiter} unless {@code upstream.rateLimit.enabled} is false, and timed by
+ * the {@link MetricsInterceptor}.
+ *
+ * @author Prashant Patel
+ */
+@Slf4j
+@Configuration
+public class HttpClientConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "upstream", name = "http2", havingValue = "false", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(UpstreamProperties properties, MeterRegistry meterRegistry) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeout().toMillis()))
+                .setSocketTimeout(Timeout.ofMilliseconds(properties.getReadTimeout().toMillis()))
+                .setTimeToLive(TimeValue.ofMilliseconds(properties.getConnectionTimeToLive().toMillis()))
+                .build();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+        registerPoolGauge(meterRegistry, connectionManager, "leased", PoolStats::getLeased);
+        registerPoolGauge(meterRegistry, connectionManager, "available", PoolStats::getAvailable);
+        registerPoolGauge(meterRegistry, connectionManager, "pending", PoolStats::getPending);
+        registerPoolGauge(meterRegistry, connectionManager, "max", PoolStats::getMax);
+        return connectionManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "upstream", name = "http2", havingValue = "false", matchIfMissing = true)
+    public CloseableHttpClient upstreamHttpClient(PoolingHttpClientConnectionManager upstreamConnectionManager,
+                                                  UpstreamProperties properties) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(properties.getConnectionRequestTimeout().toMillis()))
+                .setResponseTimeout(Timeout.ofMilliseconds(properties.getReadTimeout().toMillis()))
+                .build();
+        long keepAliveMillis = properties.getKeepAlive().toMillis();
+        return HttpClients.custom()
+                .setConnectionManager(upstreamConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                // Honour a shorter Keep-Alive advertised by the server, otherwise keep connections for the configured time.
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return advertised != null && advertised.toMilliseconds() > 0 && advertised.toMilliseconds() < keepAliveMillis
+                            ? advertised : TimeValue.ofMilliseconds(keepAliveMillis);
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(properties.getIdleEviction().toMillis()))
+                .build();
+    }
+
+    @Bean
+    public AdaptiveRateLimiter upstreamRateLimiter(UpstreamProperties properties) {
+        return new AdaptiveRateLimiter(properties.getRateLimit());
+    }
+
+    @Bean
+    public RestTemplate getRestTemplate(RestTemplateBuilder builder, UpstreamProperties properties,
+                                        ObjectProvider<CloseableHttpClient> upstreamHttpClient,
+                                        AdaptiveRateLimiter upstreamRateLimiter, ApiMetrics apiMetrics) {
+        ClientHttpRequestFactory requestFactory;
+        if (properties.isHttp2()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(properties.getConnectTimeout())
+                    .build();
+            JdkClientHttpRequestFactory jdkRequestFactory = new JdkClientHttpRequestFactory(httpClient);
+            jdkRequestFactory.setReadTimeout(properties.getReadTimeout());
+            requestFactory = jdkRequestFactory;
+        } else {
+            requestFactory = new HttpComponentsClientHttpRequestFactory(upstreamHttpClient.getObject());
+        }
+        log.info("Calling the Mock Employee API with {}.", requestFactory.getClass().getSimpleName());
+        if (properties.getRateLimit().isEnabled()) {
+            builder = builder.additionalInterceptors(new RateLimitingInterceptor(upstreamRateLimiter, properties.getRateLimit()));
+        }
+        return builder.additionalInterceptors(new MetricsInterceptor(apiMetrics))
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    /*
+     * Connections of the pool by state: leased to a call, available for reuse, or pending, i.e. calls waiting for one.
+     */
+    private static void registerPoolGauge(MeterRegistry meterRegistry, PoolingHttpClientConnectionManager connectionManager,
+                                          String state, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("api.upstream.pool.connections", connectionManager, manager -> value.applyAsDouble(manager.getTotalStats()))
+                .description("Connections of the upstream connection pool")
+                .tag("state", state)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,19 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.metrics.ApiMetrics;
+import com.reliaquest.api.properties.UrlProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author Prashant Patel
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public ApiMetrics apiMetrics(MeterRegistry meterRegistry, UrlProperties urlProperties) {
+        return new ApiMetrics(meterRegistry, urlProperties.getEmployee());
+    }
+}
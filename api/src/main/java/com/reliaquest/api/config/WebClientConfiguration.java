@@ -0,0 +1,52 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import com.reliaquest.api.client.MetricsExchangeFilter;
+import com.reliaquest.api.client.RateLimitingExchangeFilter;
+import com.reliaquest.api.metrics.ApiMetrics;
+import com.reliaquest.api.properties.UpstreamProperties;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Non-blocking HTTP client used by the reactive service mode, sized with the same {@code upstream.*} properties as
+ * the blocking client and shaped by the same {@link AdaptiveRateLimiter}. The pool reports its own
+ * {@code reactor.netty.connection.provider.*} gauges.
+ *
+ * @author Prashant Patel
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "service", name = "mode", havingValue = "reactive")
+public class WebClientConfiguration {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(UpstreamProperties properties) {
+        return ConnectionProvider.builder("upstream")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getIdleEviction())
+                .maxLifeTime(properties.getConnectionTimeToLive())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient upstreamWebClient(WebClient.Builder builder, ConnectionProvider upstreamConnectionProvider,
+                                       UpstreamProperties properties, AdaptiveRateLimiter upstreamRateLimiter,
+                                       ApiMetrics apiMetrics) {
+        HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout());
+        if (properties.getRateLimit().isEnabled()) {
+            builder = builder.filter(new RateLimitingExchangeFilter(upstreamRateLimiter, properties.getRateLimit()));
+        }
+        return builder.filter(new MetricsExchangeFilter(apiMetrics))
+                .clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+}
@@ -1,25 +1,38 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeRequest;
 import com.reliaquest.api.services.IEmployeeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
 import java.util.List;
 
+/**
+ * Served in the default {@code service.mode=blocking}; {@link IEmployeeReactiveControllerImpl} takes its place in
+ * reactive mode.
+ */
 @RestController
 @RequestMapping(value = "/employees")
+@ConditionalOnProperty(prefix = "service", name = "mode", havingValue = "blocking", matchIfMissing = true)
 public class IEmployeeControllerImpl implements IEmployeeController<Employee, EmployeeRequest> {
 
     @Autowired
     private IEmployeeService employeeService;
 
+    /**
+     * Tagged with the roster version when there is one; Spring MVC answers a matching {@code If-None-Match} with 304
+     * and no body.
+     */
     @Override
     public ResponseEntity<List<Employee>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.getAllEmployees());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        employeeService.getAllEmployeesETag().ifPresent(response::eTag);
+        return response.body(employeeService.getAllEmployees());
     }
 
     @Override
@@ -27,6 +40,13 @@ public class IEmployeeControllerImpl implements IEmployeeController<Employee, Em
         return ResponseEntity.ok(employeeService.getEmployeesByNameSearch(searchString));
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<Employee>> searchEmployeesByName(@RequestParam String name,
+                                                                @RequestParam(defaultValue = "0") int offset,
+                                                                @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(employeeService.getEmployeesByNameSearch(name, offset, limit));
+    }
+
     @Override
     public ResponseEntity<Employee> getEmployeeById(String id) {
         return ResponseEntity.ok(employeeService.getEmployeeById(id));
@@ -42,6 +62,11 @@ public class IEmployeeControllerImpl implements IEmployeeController<Employee, Em
         return ResponseEntity.ok(employeeService.getTopTenHighestEarningEmployeeNames());
     }
 
+    @GetMapping("/topHighestEarningEmployeeNames")
+    public ResponseEntity<List<String>> getTopHighestEarningEmployeeNames(@RequestParam(defaultValue = "10") int count) {
+        return ResponseEntity.ok(employeeService.getTopHighestEarningEmployeeNames(count));
+    }
+
     @Override
     public ResponseEntity<Employee> createEmployee(EmployeeRequest employeeInput) {
         return ResponseEntity.ok(employeeService.createEmployee(employeeInput));
@@ -51,4 +76,14 @@ public class IEmployeeControllerImpl implements IEmployeeController<Employee, Em
     public ResponseEntity<String> deleteEmployeeById(String id) {
         return ResponseEntity.ok(employeeService.deleteEmployeeById(id));
     }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<Employee>>> createEmployees(@RequestBody List<EmployeeRequest> employeeInputs) {
+        return ResponseEntity.ok(employeeService.createEmployees(employeeInputs));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<String>>> deleteEmployeesById(@RequestBody List<String> ids) {
+        return ResponseEntity.ok(employeeService.deleteEmployeesById(ids));
+    }
 }
@@ -0,0 +1,108 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeRequest;
+import com.reliaquest.api.services.IEmployeeReactiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adapter serving the {@link IEmployeeController} contract in {@code service.mode=reactive}: the same routes, parameters
+ * and response bodies, each wrapped in a {@link Mono}. Spring MVC treats a returned {@code Mono} as an asynchronous
+ * result, so the request thread goes back to Tomcat as soon as the pipeline is assembled and the response is written
+ * when the upstream answers; {@link IEmployeeControllerImpl} takes its place in the default blocking mode.
+ * <p>
+ * The return types rule out implementing {@link IEmployeeController} itself; {@code IEmployeeReactiveControllerImplTest}
+ * checks that every route of the interface is served here.
+ *
+ * @author Prashant Patel
+ */
+@RestController
+@RequestMapping(value = "/employees")
+@ConditionalOnProperty(prefix = "service", name = "mode", havingValue = "reactive")
+public class IEmployeeReactiveControllerImpl {
+
+    @Autowired
+    private IEmployeeReactiveService employeeService;
+
+    /**
+     * Tagged with the roster version when there is one, read before the roster; Spring MVC answers a matching
+     * {@code If-None-Match} with 304 and no body.
+     */
+    @GetMapping()
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        Optional<String> eTag = employeeService.getAllEmployeesETag();
+        return employeeService.getAllEmployees().map(employees -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            eTag.ifPresent(response::eTag);
+            return response.body(employees);
+        });
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        return ok(employeeService.getEmployeesByNameSearch(searchString));
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<Employee>>> searchEmployeesByName(@RequestParam String name,
+                                                                      @RequestParam(defaultValue = "0") int offset,
+                                                                      @RequestParam(defaultValue = "100") int limit) {
+        return ok(employeeService.getEmployeesByNameSearch(name, offset, limit));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        return ok(employeeService.getEmployeeById(id));
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return ok(employeeService.getHighestSalaryOfEmployees());
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return ok(employeeService.getTopTenHighestEarningEmployeeNames());
+    }
+
+    @GetMapping("/topHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopHighestEarningEmployeeNames(@RequestParam(defaultValue = "10") int count) {
+        return ok(employeeService.getTopHighestEarningEmployeeNames(count));
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestBody EmployeeRequest employeeInput) {
+        return ok(employeeService.createEmployee(employeeInput));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return ok(employeeService.deleteEmployeeById(id));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<BatchItemResult<Employee>>>> createEmployees(@RequestBody List<EmployeeRequest> employeeInputs) {
+        return ok(employeeService.createEmployees(employeeInputs));
+    }
+
+    @DeleteMapping("/batch")
+    public Mono<ResponseEntity<List<BatchItemResult<String>>>> deleteEmployeesById(@RequestBody List<String> ids) {
+        return ok(employeeService.deleteEmployeesById(ids));
+    }
+
+    /**
+     * 200 with the body, or without one when the pipeline completes empty, as the blocking controller answers a
+     * {@code null} result.
+     */
+    private static <T> Mono<ResponseEntity<T>> ok(Mono<T> body) {
+        return body.map(ResponseEntity::ok).defaultIfEmpty(ResponseEntity.ok().<T>build());
+    }
+}
@@ -1,6 +1,7 @@
 package com.reliaquest.api.exceptionhandler;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.metrics.ApiMetrics;
 import com.reliaquest.api.model.ApiResponse;
 import com.reliaquest.api.model.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -23,10 +24,14 @@ public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
     @Autowired
     private ObjectMapper mapper;
 
+    @Autowired
+    private ApiMetrics metrics;
+
     @ExceptionHandler({ HttpStatusCodeException.class })
     public ResponseEntity<Object> handleHttpStatusError(final HttpStatusCodeException e, final WebRequest request) {
         ApiResponse<String> response = new ApiResponse<>();
         if (HttpStatus.TOO_MANY_REQUESTS.equals(e.getStatusCode())) {
+            metrics.rateLimited("upstream");
             response.setError("Too many request. Please try after some time.");
             response.setStatus("FAILED");
             return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.TOO_MANY_REQUESTS);
@@ -45,6 +50,9 @@ public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler({ ApiException.class })
     public ResponseEntity<Object> handleApiExceptionError(final ApiException e, final WebRequest request) {
+        if (HttpStatus.TOO_MANY_REQUESTS.equals(e.getStatus())) {
+            metrics.rateLimited("local");
+        }
         ApiResponse<String> response = new ApiResponse<>();
         response.setError(e.getMessage());
         response.setStatus("FAILED");
@@ -0,0 +1,239 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram index over lower-cased employee names answering case-insensitive "name contains" queries.
+ * <p>
+ * Fragments of at least three characters only visit the employees whose name contains the rarest trigram of the
+ * fragment, each of them confirmed with {@link String#contains(CharSequence)} on the pre-normalized name. Shorter
+ * fragments match too many names for an index to pay off and fall back to a scan of the pre-normalized names.
+ * Results are returned in roster order.
+ * <p>
+ * {@link #patched(Collection, List)} derives the index of a locally changed roster without rebuilding the postings:
+ * removed employees leave an empty slot, replacements take the slot of the employee they replace and new employees get
+ * new slots at the end, so slot order stays roster order. The trigrams of replaced and new names go to a small second
+ * postings map merged in at query time, while the stale postings of the old names are filtered out by the
+ * {@code contains} check like any other false candidate.
+ *
+ * @author Prashant Patel
+ */
+public final class NameSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    /**
+     * Patched slots, emptied or added to the second postings map, beyond which a rebuild is cheaper than the merges at
+     * query time, as a fraction of all slots.
+     */
+    private static final int MAX_PATCHED_SHARE = 8;
+
+    private final Employee[] employees;
+    private final String[] normalizedNames;
+    private final Map<String, int[]> postings;
+    private final Map<String, int[]> patchedPostings;
+    private final int patchedSlots;
+
+    private NameSearchIndex(Employee[] employees, String[] normalizedNames, Map<String, int[]> postings,
+                            Map<String, int[]> patchedPostings, int patchedSlots) {
+        this.employees = employees;
+        this.normalizedNames = normalizedNames;
+        this.postings = postings;
+        this.patchedPostings = patchedPostings;
+        this.patchedSlots = patchedSlots;
+    }
+
+    public static NameSearchIndex of(List<Employee> roster) {
+        Employee[] employees = roster.toArray(new Employee[0]);
+        String[] normalizedNames = new String[employees.length];
+        Map<String, IntList> builders = new HashMap<>();
+        for (int ordinal = 0; ordinal < employees.length; ordinal++) {
+            index(builders, normalizedNames, ordinal, employees[ordinal]);
+        }
+        return new NameSearchIndex(employees, normalizedNames, toPostings(builders), Map.of(), 0);
+    }
+
+    /**
+     * @return the index of this roster without the employees with the given ids, then with the given employees replacing
+     * the employee with the same id in place or else appended, as {@code EmployeeSnapshot} derives rosters; null once
+     * so many slots are patched that the index should be rebuilt instead
+     */
+    public NameSearchIndex patched(Collection<String> removedIds, List<Employee> added) {
+        Set<String> removed = new HashSet<>(removedIds);
+        Map<String, Employee> replacements = new HashMap<>();
+        for (Employee employee : added) {
+            if (employee.getId() != null) {
+                replacements.put(employee.getId(), employee);
+            }
+        }
+        Employee[] slots = Arrays.copyOf(employees, employees.length + added.size());
+        String[] names = Arrays.copyOf(normalizedNames, slots.length);
+        Map<String, IntList> builders = new HashMap<>();
+        Set<String> replaced = new HashSet<>();
+        int patched = patchedSlots;
+        for (int ordinal = 0; ordinal < employees.length; ordinal++) {
+            String id = slots[ordinal] == null ? null : slots[ordinal].getId();
+            if (id == null) {
+                continue;
+            }
+            if (removed.contains(id)) {
+                slots[ordinal] = null;
+                names[ordinal] = null;
+                patched++;
+            } else if (replacements.containsKey(id) && replaced.add(id)) {
+                names[ordinal] = null;
+                index(builders, names, ordinal, replacements.get(id));
+                slots[ordinal] = replacements.get(id);
+                patched++;
+            }
+        }
+        int size = employees.length;
+        for (Employee employee : added) {
+            if (employee.getId() == null || !replaced.contains(employee.getId())) {
+                index(builders, names, size, employee);
+                slots[size++] = employee;
+                patched++;
+            }
+        }
+        if (patched > size / MAX_PATCHED_SHARE) {
+            return null;
+        }
+        Map<String, int[]> merged = new HashMap<>(patchedPostings);
+        toPostings(builders).forEach((gram, ordinals) -> merged.merge(gram, ordinals, NameSearchIndex::union));
+        return new NameSearchIndex(Arrays.copyOf(slots, size), Arrays.copyOf(names, size), postings, merged, patched);
+    }
+
+    private static void index(Map<String, IntList> builders, String[] normalizedNames, int ordinal, Employee employee) {
+        String name = employee.getName();
+        if (name == null) {
+            return;
+        }
+        String normalized = normalize(name);
+        normalizedNames[ordinal] = normalized;
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            builders.computeIfAbsent(normalized.substring(i, i + GRAM_LENGTH), gram -> new IntList())
+                    .addIfAbsent(ordinal);
+        }
+    }
+
+    private static Map<String, int[]> toPostings(Map<String, IntList> builders) {
+        Map<String, int[]> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((gram, ordinals) -> postings.put(gram, ordinals.toArray()));
+        return postings;
+    }
+
+    /**
+     * Same normalization the linear search has always applied to both the names and the fragment.
+     */
+    public static String normalize(String value) {
+        return value.toLowerCase();
+    }
+
+    /**
+     * @param fragment the case-insensitive name fragment
+     * @param offset number of matches to skip
+     * @param limit maximum number of matches to return
+     */
+    public List<Employee> search(String fragment, int offset, int limit) {
+        String normalized = normalize(fragment);
+        List<Employee> matches = new ArrayList<>();
+        int skipped = 0;
+        if (normalized.length() < GRAM_LENGTH) {
+            for (int ordinal = 0; ordinal < employees.length && matches.size() < limit; ordinal++) {
+                if (matches(ordinal, normalized) && skipped++ >= offset) {
+                    matches.add(employees[ordinal]);
+                }
+            }
+            return matches;
+        }
+        for (int ordinal : candidates(normalized)) {
+            if (matches.size() >= limit) {
+                break;
+            }
+            if (matches(ordinal, normalized) && skipped++ >= offset) {
+                matches.add(employees[ordinal]);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @return the shortest postings list among the fragment's trigrams, ascending and merged with the patched postings
+     */
+    private int[] candidates(String normalized) {
+        String rarest = null;
+        int fewest = Integer.MAX_VALUE;
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            String gram = normalized.substring(i, i + GRAM_LENGTH);
+            int count = postings.getOrDefault(gram, NO_POSTINGS).length + patchedPostings.getOrDefault(gram, NO_POSTINGS).length;
+            if (count == 0) {
+                return NO_POSTINGS;
+            }
+            if (count < fewest) {
+                rarest = gram;
+                fewest = count;
+            }
+        }
+        return union(postings.getOrDefault(rarest, NO_POSTINGS), patchedPostings.getOrDefault(rarest, NO_POSTINGS));
+    }
+
+    /**
+     * @return the ascending ordinals of both ascending arrays, without duplicates
+     */
+    private static int[] union(int[] left, int[] right) {
+        if (right.length == 0) {
+            return left;
+        }
+        if (left.length == 0) {
+            return right;
+        }
+        int[] union = new int[left.length + right.length];
+        int size = 0;
+        int l = 0;
+        int r = 0;
+        while (l < left.length || r < right.length) {
+            int next = r == right.length || (l < left.length && left[l] <= right[r]) ? left[l++] : right[r++];
+            if (size == 0 || union[size - 1] != next) {
+                union[size++] = next;
+            }
+        }
+        return Arrays.copyOf(union, size);
+    }
+
+    private boolean matches(int ordinal, String normalized) {
+        return normalizedNames[ordinal] != null && normalizedNames[ordinal].contains(normalized);
+    }
+
+    /**
+     * Growable ascending list of ordinals; ordinals are appended in increasing order so duplicates are always last.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void addIfAbsent(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Employees ordered by descending salary, so the highest salary is read in O(1) and the top K earners in O(K).
+ * <p>
+ * The index is immutable: {@link #with(Employee)} and {@link #without(Employee)} return a new index by shifting the
+ * backing array around a binary-searched position instead of sorting again. Employees earning the same salary keep
+ * the order in which they were added. Employees without a salary are not indexed.
+ *
+ * @author Prashant Patel
+ */
+public final class SalaryIndex {
+
+    private static final SalaryIndex EMPTY = new SalaryIndex(new Employee[0]);
+
+    private final Employee[] bySalaryDesc;
+
+    private SalaryIndex(Employee[] bySalaryDesc) {
+        this.bySalaryDesc = bySalaryDesc;
+    }
+
+    public static SalaryIndex empty() {
+        return EMPTY;
+    }
+
+    public static SalaryIndex of(Collection<Employee> employees) {
+        Employee[] salaried = employees.stream().filter(e -> e.getSalary() != null).toArray(Employee[]::new);
+        // Sorts primitive keys of the inverted salary and the roster position, which keeps roster order among equal
+        // salaries without a comparator or unboxing per comparison; parallelSort forks large rosters.
+        long[] keys = new long[salaried.length];
+        for (int i = 0; i < salaried.length; i++) {
+            keys[i] = ((long) ~salaried[i].getSalary() << 32) | i;
+        }
+        Arrays.parallelSort(keys);
+        Employee[] indexed = new Employee[salaried.length];
+        for (int i = 0; i < keys.length; i++) {
+            indexed[i] = salaried[(int) keys[i]];
+        }
+        return new SalaryIndex(indexed);
+    }
+
+    public int size() {
+        return bySalaryDesc.length;
+    }
+
+    /**
+     * @return the highest salary, or 0 when no employee is indexed
+     */
+    public int getHighestSalary() {
+        return bySalaryDesc.length == 0 ? 0 : bySalaryDesc[0].getSalary();
+    }
+
+    /**
+     * @return up to {@code count} employees, highest salary first
+     */
+    public List<Employee> getTopEarners(int count) {
+        int size = Math.min(Math.max(count, 0), bySalaryDesc.length);
+        List<Employee> top = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            top.add(bySalaryDesc[i]);
+        }
+        return top;
+    }
+
+    public SalaryIndex with(Employee employee) {
+        if (employee.getSalary() == null) {
+            return this;
+        }
+        int position = firstLowerThan(employee.getSalary());
+        Employee[] updated = new Employee[bySalaryDesc.length + 1];
+        System.arraycopy(bySalaryDesc, 0, updated, 0, position);
+        updated[position] = employee;
+        System.arraycopy(bySalaryDesc, position, updated, position + 1, bySalaryDesc.length - position);
+        return new SalaryIndex(updated);
+    }
+
+    public SalaryIndex without(Employee employee) {
+        if (employee.getSalary() == null) {
+            return this;
+        }
+        int salary = employee.getSalary();
+        for (int i = firstLowerThan(salary + 1L); i < bySalaryDesc.length && bySalaryDesc[i].getSalary() == salary; i++) {
+            if (isSameEmployee(bySalaryDesc[i], employee)) {
+                Employee[] updated = new Employee[bySalaryDesc.length - 1];
+                System.arraycopy(bySalaryDesc, 0, updated, 0, i);
+                System.arraycopy(bySalaryDesc, i + 1, updated, i, bySalaryDesc.length - i - 1);
+                return new SalaryIndex(updated);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return the position of the first employee earning strictly less than {@code salary}
+     */
+    private int firstLowerThan(long salary) {
+        int low = 0;
+        int high = bySalaryDesc.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (bySalaryDesc[middle].getSalary() >= salary) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static boolean isSameEmployee(Employee indexed, Employee employee) {
+        return indexed == employee || (indexed.getId() != null && indexed.getId().equals(employee.getId()));
+    }
+}
@@ -0,0 +1,206 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The {@code count} highest earners of a roster without sorting it, in the order of {@link SalaryIndex}: highest salary
+ * first, and roster order among equal salaries. Employees without a salary are skipped.
+ * <p>
+ * Holds a bounded min-heap on a primitive key packing the salary and roster position, so a pass over the roster costs
+ * O(n log K) long comparisons and O(K) memory, with no boxing or comparator calls. {@link #of(List, int)} splits large
+ * rosters across the common fork-join pool and merges the partial heaps.
+ * <p>
+ * Instances are not thread safe; {@link #offer(Employee)} them one roster at a time.
+ *
+ * @author Prashant Patel
+ */
+public final class TopEarners {
+
+    /**
+     * Rosters at least this large are selected in parallel; each task selects from at most this many employees.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final int count;
+
+    private long[] keys;
+
+    private Employee[] employees;
+
+    private int size;
+
+    private int offered;
+
+    public TopEarners(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        this.count = count;
+        int capacity = Math.min(count, 1024);
+        this.keys = new long[capacity];
+        this.employees = new Employee[capacity];
+    }
+
+    private TopEarners(int count, long[] keys, Employee[] employees, int size) {
+        this.count = count;
+        this.keys = keys;
+        this.employees = employees;
+        this.size = size;
+    }
+
+    /**
+     * @return up to {@code count} employees of the given roster, highest salary first
+     */
+    public static List<Employee> of(List<Employee> roster, int count) {
+        if (roster.size() < PARALLEL_THRESHOLD || !(roster instanceof RandomAccess)) {
+            TopEarners top = new TopEarners(count);
+            roster.forEach(top::offer);
+            return top.toList();
+        }
+        return ForkJoinPool.commonPool().invoke(new Selection(roster, 0, roster.size(), count)).toList();
+    }
+
+    /**
+     * @return the highest salary of the given roster, or 0 when no employee has one
+     */
+    public static int highestSalary(List<Employee> roster) {
+        List<Employee> top = of(roster, 1);
+        return top.isEmpty() ? 0 : top.get(0).getSalary();
+    }
+
+    /**
+     * Offers the next employee of the roster, kept while among the {@code count} highest earners offered so far.
+     */
+    public void offer(Employee employee) {
+        offer(employee, offered++);
+    }
+
+    private void offer(Employee employee, int position) {
+        Integer salary = employee.getSalary();
+        if (salary != null) {
+            offer(key(salary, position), employee);
+        }
+    }
+
+    /**
+     * @return the employees kept, highest salary first
+     */
+    public List<Employee> toList() {
+        TopEarners heap = new TopEarners(count, Arrays.copyOf(keys, size), Arrays.copyOf(employees, size), size);
+        Employee[] top = new Employee[size];
+        // Heap sort: the lowest remaining earner goes last.
+        for (int i = size - 1; i >= 0; i--) {
+            top[i] = heap.employees[0];
+            heap.pollLowest();
+        }
+        return List.of(top);
+    }
+
+    /**
+     * Orders by salary, then by earlier roster position: the smallest key is the employee to evict first.
+     */
+    private static long key(int salary, int position) {
+        return ((long) salary << 32) | (~position & 0xFFFFFFFFL);
+    }
+
+    private void offer(long key, Employee employee) {
+        if (size < count) {
+            if (size == keys.length) {
+                int capacity = (int) Math.min(count, keys.length * 2L);
+                keys = Arrays.copyOf(keys, capacity);
+                employees = Arrays.copyOf(employees, capacity);
+            }
+            siftUp(size++, key, employee);
+        } else if (key > keys[0]) {
+            siftDown(0, key, employee);
+        }
+    }
+
+    private void pollLowest() {
+        size--;
+        if (size > 0) {
+            siftDown(0, keys[size], employees[size]);
+        }
+        keys[size] = 0;
+        employees[size] = null;
+    }
+
+    private void siftUp(int slot, long key, Employee employee) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[slot] = keys[parent];
+            employees[slot] = employees[parent];
+            slot = parent;
+        }
+        keys[slot] = key;
+        employees[slot] = employee;
+    }
+
+    private void siftDown(int slot, long key, Employee employee) {
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            keys[slot] = keys[child];
+            employees[slot] = employees[child];
+            slot = child;
+        }
+        keys[slot] = key;
+        employees[slot] = employee;
+    }
+
+    /**
+     * Selects from a range of the roster, keyed by position in the whole roster so merged heaps keep roster order.
+     */
+    private static final class Selection extends RecursiveTask<TopEarners> {
+
+        private final List<Employee> roster;
+
+        private final int from;
+
+        private final int to;
+
+        private final int count;
+
+        Selection(List<Employee> roster, int from, int to, int count) {
+            this.roster = roster;
+            this.from = from;
+            this.to = to;
+            this.count = count;
+        }
+
+        @Override
+        protected TopEarners compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                TopEarners top = new TopEarners(count);
+                for (int i = from; i < to; i++) {
+                    top.offer(roster.get(i), i);
+                }
+                return top;
+            }
+            int middle = (from + to) >>> 1;
+            Selection upper = new Selection(roster, middle, to, count);
+            upper.fork();
+            TopEarners top = new Selection(roster, from, middle, count).compute();
+            TopEarners other = upper.join();
+            for (int i = 0; i < other.size; i++) {
+                top.offer(other.keys[i], other.employees[i]);
+            }
+            return top;
+        }
+    }
+}
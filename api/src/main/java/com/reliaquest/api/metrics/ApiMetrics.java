@@ -0,0 +1,99 @@
+package com.reliaquest.api.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpMethod;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the API beyond the per-endpoint {@code http.server.requests} recorded by Spring Boot: upstream calls timed
+ * by operation and status, requests answered with 429, and lookups of the local caches. All names share the
+ * {@code api.} prefix and are scraped from {@code /actuator/prometheus}.
+ *
+ * @author Prashant Patel
+ */
+public class ApiMetrics {
+
+    public static final String UPSTREAM_REQUESTS = "api.upstream.requests";
+    public static final String RATE_LIMITED = "api.rate.limited";
+    public static final String CACHE_LOOKUPS = "api.cache.lookups";
+
+    /**
+     * Status tag of upstream calls that got no response at all: connection errors and timeouts.
+     */
+    public static final String NO_RESPONSE = "IO_ERROR";
+
+    private final MeterRegistry registry;
+    private final String employeePath;
+
+    /**
+     * @param employeeUrl the upstream employee resource, {@code url.employee}, which upstream operations are relative to
+     */
+    public ApiMetrics(MeterRegistry registry, String employeeUrl) {
+        this.registry = registry;
+        this.employeePath = URI.create(employeeUrl).getPath();
+    }
+
+    /**
+     * Records one upstream attempt; retries of a rate limited call are recorded separately.
+     *
+     * @param status the HTTP status, or {@link #NO_RESPONSE}
+     */
+    public void upstreamCall(HttpMethod method, URI uri, String status, long nanos) {
+        Timer.builder(UPSTREAM_REQUESTS)
+                .description("Calls to the Mock Employee API")
+                .tag("operation", upstreamOperation(method, uri.getPath()))
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a request answered with 429.
+     *
+     * @param source {@code upstream} when the Mock Employee API kept rejecting the call, {@code local} when no permit of
+     *               the upstream rate limiter was available in time
+     */
+    public void rateLimited(String source) {
+        Counter.builder(RATE_LIMITED)
+                .description("Requests answered with 429 Too Many Requests")
+                .tag("source", source)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * @param cache {@code snapshot} or {@code idIndex}
+     */
+    public void cacheLookup(String cache, boolean hit) {
+        Counter.builder(CACHE_LOOKUPS)
+                .description("Lookups of the local caches, a miss falls back to the upstream")
+                .tag("cache", cache)
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry)
+                .increment();
+    }
+
+    /*
+     * Maps the call to the operation of the upstream API, keeping ids out of the tags.
+     */
+    String upstreamOperation(HttpMethod method, String path) {
+        String resource = path != null && path.startsWith(employeePath) ? path.substring(employeePath.length()) : "?";
+        boolean get = HttpMethod.GET.equals(method);
+        boolean delete = HttpMethod.DELETE.equals(method);
+        return switch (resource) {
+            case "", "/" -> get ? "getAll" : delete ? "deleteByName" : "create";
+            case "/batch" -> delete ? "deleteBatch" : "createBatch";
+            case "/stats/salary" -> "salaryStatistics";
+            case "/stats/topEarners" -> "topEarners";
+            case "/changes" -> "changes";
+            default -> resource.indexOf('/', 1) < 0 && resource.startsWith("/")
+                    ? (delete ? "deleteById" : "getById")
+                    : "other";
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one item of a batch request; {@code index} is the position of the item in the request.
+ *
+ * @author Prashant Patel
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult<T> {
+
+    private int index;
+    private BatchItemStatus status;
+    private T data;
+    private String error;
+
+    public static <T> BatchItemResult<T> success(int index, BatchItemStatus status, T data) {
+        return new BatchItemResult<>(index, status, data, null);
+    }
+
+    public static <T> BatchItemResult<T> failure(int index, BatchItemStatus status, String error) {
+        return new BatchItemResult<>(index, status, null, error);
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.model;
+
+/**
+ * Outcome of a single item of a batch operation.
+ *
+ * @author Prashant Patel
+ */
+public enum BatchItemStatus {
+    CREATED,
+    DELETED,
+    NOT_FOUND,
+    /**
+     * The item failed validation and was never sent upstream.
+     */
+    INVALID,
+    /**
+     * The upstream call carrying the item failed; the item may be retried.
+     */
+    FAILED
+}
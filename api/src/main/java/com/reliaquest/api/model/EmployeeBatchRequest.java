@@ -0,0 +1,20 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body of the Mock Employee API batch endpoints.
+ *
+ * @author Prashant Patel
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeBatchRequest<T> {
+
+    private List<T> employees;
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One employee created or deleted upstream, as listed by the Mock Employee API change feed.
+ *
+ * @author Prashant Patel
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChange {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    private long version;
+    private Type type;
+    private String id;
+    /**
+     * The employee as created, null for deletes.
+     */
+    private Employee employee;
+}
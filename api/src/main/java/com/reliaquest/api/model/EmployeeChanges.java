@@ -0,0 +1,25 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Upstream changes after a roster version, oldest first. On a reset the changes could not be given and the roster has
+ * to be read again, then followed from {@code version}.
+ *
+ * @author Prashant Patel
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChanges {
+
+    private long epoch;
+    private long version;
+    private boolean reset;
+    private List<EmployeeChange> changes = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Salary aggregates computed by the Mock Employee API; minimum, maximum and average are null on an empty roster.
+ *
+ * @author Prashant Patel
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryStatistics {
+
+    private long count;
+    private Integer minSalary;
+    private Integer maxSalary;
+    private Double averageSalary;
+}
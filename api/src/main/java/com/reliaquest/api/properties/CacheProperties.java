@@ -0,0 +1,22 @@
+package com.reliaquest.api.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Prashant Patel
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache")
+public class CacheProperties {
+
+    private boolean enabled = true;
+    private long initialDelayMs = 0;
+    private long refreshIntervalMs = 30000;
+    /**
+     * Maximum number of id to name entries kept by {@code EmployeeIdIndex}.
+     */
+    private int idIndexMaxSize = 1_000_000;
+}
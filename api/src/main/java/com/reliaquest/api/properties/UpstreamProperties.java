@@ -0,0 +1,118 @@
+package com.reliaquest.api.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tuning of the HTTP client used to call the Mock Employee API.
+ *
+ * @author Prashant Patel
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "upstream")
+public class UpstreamProperties {
+
+    /**
+     * Use the JDK HTTP client negotiating HTTP/2 instead of the pooled Apache HTTP/1.1 client.
+     */
+    private boolean http2 = false;
+    /**
+     * Delete through the upstream {@code DELETE /api/v1/employee/{id}} endpoint in a single call. Turned off at runtime
+     * if the upstream answers 405, deletes then resolve the name first and delete by name.
+     */
+    private boolean deleteById = true;
+    /**
+     * Ask the upstream {@code /api/v1/employee/stats} endpoints for the highest salary and the top earners instead of
+     * reading the whole roster whenever no cached snapshot can answer. Turned off at runtime if the upstream answers
+     * 404 or 405.
+     */
+    private boolean aggregates = true;
+    /**
+     * Keep the cached snapshot current through the upstream {@code /api/v1/employee/changes} feed, reading the whole
+     * roster only when the feed cannot bridge the gap. Turned off at runtime if the upstream answers 404, 405 or 400,
+     * the last from an upstream taking {@code changes} for an employee id.
+     */
+    private boolean changes = true;
+    /**
+     * How long a cache refresh lets the upstream hold the feed request until a change arrives (long polling); zero
+     * polls. Keep it below {@code readTimeout}.
+     */
+    private Duration changesWait = Duration.ZERO;
+    private int maxConnections = 200;
+    private int maxConnectionsPerRoute = 100;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /**
+     * Maximum time to wait for a free connection when the pool is exhausted.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private Duration keepAlive = Duration.ofSeconds(30);
+    private Duration idleEviction = Duration.ofSeconds(30);
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+    private RateLimit rateLimit = new RateLimit();
+    private Batch batch = new Batch();
+
+    /**
+     * Client-side shaping of upstream calls, see {@code AdaptiveRateLimiter}.
+     */
+    @Data
+    public static class RateLimit {
+
+        private boolean enabled = true;
+        /**
+         * Permits per second granted before any feedback from the upstream.
+         */
+        private double initialRate = 2;
+        private double minRate = 0.05;
+        private double maxRate = 100;
+        /**
+         * Calls that may be sent back to back after an idle period.
+         */
+        private int burst = 5;
+        /**
+         * Permits per second added after every accepted call.
+         */
+        private double additiveIncrease = 0.1;
+        /**
+         * Factor applied to the rate after every rejected call.
+         */
+        private double multiplicativeDecrease = 0.5;
+        /**
+         * First backoff after a rejection when the upstream gives no Retry-After and no window has been learned yet.
+         */
+        private Duration initialBackoff = Duration.ofSeconds(1);
+        private Duration maxBackoff = Duration.ofSeconds(90);
+        /**
+         * Longest time a call is queued for a permit before failing with 429 without reaching the upstream.
+         */
+        private Duration maxWait = Duration.ofSeconds(5);
+        /**
+         * Retries of a rejected GET; other methods are never retried.
+         */
+        private int maxRetries = 2;
+    }
+
+    /**
+     * Splitting of batch operations into upstream batch calls.
+     */
+    @Data
+    public static class Batch {
+
+        /**
+         * Items per upstream call, at most the 1000 the Mock Employee API accepts.
+         */
+        private int size = 500;
+        /**
+         * Upstream calls of one batch operation in flight at once.
+         */
+        private int parallelism = 4;
+        /**
+         * Largest batch accepted from our own clients.
+         */
+        private int maxItems = 10_000;
+    }
+}
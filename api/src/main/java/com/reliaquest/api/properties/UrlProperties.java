@@ -15,4 +15,7 @@ public class UrlProperties {
     private String baseUrl;
     private String employee;
     private String employeeById;
+    private String employeeBatch;
+    private String employeeStats;
+    private String employeeChanges;
 }
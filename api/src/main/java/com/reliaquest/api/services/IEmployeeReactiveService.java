@@ -0,0 +1,53 @@
+package com.reliaquest.api.services;
+
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeRequest;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Non-blocking counterpart of {@link IEmployeeService}: every operation returns a {@link Mono} that completes without
+ * holding the calling thread while the upstream answers.
+ *
+ * @author Prashant Patel
+ */
+public interface IEmployeeReactiveService {
+    Mono<List<Employee>> getAllEmployees();
+
+    /**
+     * @return an entity tag that changes whenever the roster of {@link #getAllEmployees()} does, to be read before the
+     * roster; empty when the roster is not versioned
+     */
+    default Optional<String> getAllEmployeesETag() {
+        return Optional.empty();
+    }
+
+    Mono<List<Employee>> getEmployeesByNameSearch(String searchString);
+
+    Mono<List<Employee>> getEmployeesByNameSearch(String searchString, int offset, int limit);
+
+    Mono<Employee> getEmployeeById(String id);
+
+    Mono<Integer> getHighestSalaryOfEmployees();
+
+    Mono<List<String>> getTopTenHighestEarningEmployeeNames();
+
+    Mono<List<String>> getTopHighestEarningEmployeeNames(int count);
+
+    Mono<Employee> createEmployee(EmployeeRequest employeeInput);
+
+    Mono<String> deleteEmployeeById(String id);
+
+    /**
+     * @return one result per input, in input order
+     */
+    Mono<List<BatchItemResult<Employee>>> createEmployees(List<EmployeeRequest> employeeInputs);
+
+    /**
+     * @return one result per id, in input order, carrying the name of each deleted employee
+     */
+    Mono<List<BatchItemResult<String>>> deleteEmployeesById(List<String> ids);
+}
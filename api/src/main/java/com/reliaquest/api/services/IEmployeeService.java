@@ -1,9 +1,11 @@
 package com.reliaquest.api.services;
 
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * @author Prashant Patel
@@ -11,15 +13,37 @@ import java.util.List;
 public interface IEmployeeService {
     List<Employee> getAllEmployees();
 
+    /**
+     * @return an entity tag that changes whenever the roster of {@link #getAllEmployees()} does, to be read before the
+     * roster; empty when the roster is not versioned
+     */
+    default Optional<String> getAllEmployeesETag() {
+        return Optional.empty();
+    }
+
     List<Employee> getEmployeesByNameSearch(String searchString);
 
+    List<Employee> getEmployeesByNameSearch(String searchString, int offset, int limit);
+
     Employee getEmployeeById(String id);
 
     Integer getHighestSalaryOfEmployees();
 
     List<String> getTopTenHighestEarningEmployeeNames();
 
+    List<String> getTopHighestEarningEmployeeNames(int count);
+
     Employee createEmployee(EmployeeRequest employeeInput);
 
     String deleteEmployeeById(String id);
+
+    /**
+     * @return one result per input, in input order
+     */
+    List<BatchItemResult<Employee>> createEmployees(List<EmployeeRequest> employeeInputs);
+
+    /**
+     * @return one result per id, in input order, carrying the name of each deleted employee
+     */
+    List<BatchItemResult<String>> deleteEmployeesById(List<String> ids);
 }
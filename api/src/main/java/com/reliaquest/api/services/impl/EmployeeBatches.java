@@ -0,0 +1,155 @@
+package com.reliaquest.api.services.impl;
+
+import com.reliaquest.api.exceptionhandler.ApiException;
+import com.reliaquest.api.model.BatchItemResult;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Steps shared by the batch operations of both {@code IEmployeeService} implementations.
+ *
+ * @author Prashant Patel
+ */
+@Slf4j
+final class EmployeeBatches {
+
+    private EmployeeBatches() {
+    }
+
+    static void checkSize(List<?> items, int maxItems) {
+        if (items == null || items.isEmpty() || items.size() > maxItems) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Batch must contain between 1 and " + maxItems + " items.");
+        }
+    }
+
+    /**
+     * @return consecutive sublists of at most {@code size} items, views of the given list
+     */
+    static <T> List<List<T>> partition(List<T> items, int size) {
+        int chunkSize = Math.max(1, size);
+        List<List<T>> chunks = new ArrayList<>((items.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(from + chunkSize, items.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * @return the constraint violations of the item, or {@code null} when it is valid
+     */
+    static String violations(Validator validator, Object item) {
+        if (item == null) {
+            return "Item must not be null.";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * @return for every item, the index of its first occurrence in the list
+     */
+    static int[] firstOccurrences(List<?> items) {
+        Map<Object, Integer> first = new HashMap<>();
+        int[] occurrences = new int[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            Integer previous = first.putIfAbsent(items.get(i), i);
+            occurrences[i] = previous != null ? previous : i;
+        }
+        return occurrences;
+    }
+
+    /**
+     * Gives every item still without a result the result of its first occurrence.
+     */
+    static <T> void copyRepeats(BatchItemResult<T>[] results, int[] firstOccurrences) {
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                BatchItemResult<T> first = results[firstOccurrences[i]];
+                results[i] = new BatchItemResult<>(i, first.getStatus(), first.getData(), first.getError());
+            }
+        }
+    }
+
+    static String failureMessage(Throwable failure) {
+        return failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName();
+    }
+
+    /**
+     * Starts one upstream call per chunk keeping up to {@code parallelism} of them in flight, and hands each outcome to
+     * the callbacks on the calling thread, in chunk order.
+     */
+    static <R> void pipeline(List<List<Integer>> chunks, int parallelism,
+                             Function<List<Integer>, CompletableFuture<List<R>>> call,
+                             BiConsumer<List<Integer>, List<R>> onResponse, BiConsumer<List<Integer>, Throwable> onFailure) {
+        Deque<InFlight<R>> inFlight = new ArrayDeque<>();
+        for (List<Integer> chunk : chunks) {
+            if (inFlight.size() >= Math.max(1, parallelism)) {
+                complete(inFlight.poll(), onResponse, onFailure);
+            }
+            inFlight.add(new InFlight<>(chunk, call.apply(chunk)));
+        }
+        while (!inFlight.isEmpty()) {
+            complete(inFlight.poll(), onResponse, onFailure);
+        }
+    }
+
+    /**
+     * Non-blocking {@link #pipeline}: subscribes to up to {@code parallelism} chunk calls at a time and hands each
+     * outcome to the callbacks, one at a time and in chunk order, completing once every chunk has been handled.
+     */
+    static <R> Mono<Void> pipelineAsync(List<List<Integer>> chunks, int parallelism,
+                                        Function<List<Integer>, Mono<List<R>>> call,
+                                        BiConsumer<List<Integer>, List<R>> onResponse,
+                                        BiConsumer<List<Integer>, Throwable> onFailure) {
+        return Flux.fromIterable(chunks)
+                .flatMapSequential(chunk -> call.apply(chunk)
+                        .defaultIfEmpty(List.of())
+                        .<Runnable>map(response -> () -> onResponse.accept(chunk, response))
+                        .onErrorResume(failure -> {
+                            log.warn("Batch call for {} items failed: {}", chunk.size(), failure.getMessage());
+                            return Mono.just(() -> onFailure.accept(chunk, failure));
+                        }), Math.max(1, parallelism))
+                .doOnNext(Runnable::run)
+                .then();
+    }
+
+    private static <R> void complete(InFlight<R> call, BiConsumer<List<Integer>, List<R>> onResponse,
+                                     BiConsumer<List<Integer>, Throwable> onFailure) {
+        List<R> response;
+        try {
+            response = call.response().join();
+        } catch (CompletionException e) {
+            Throwable failure = e.getCause() != null ? e.getCause() : e;
+            log.warn("Batch call for {} items failed: {}", call.chunk().size(), failure.getMessage());
+            onFailure.accept(call.chunk(), failure);
+            return;
+        }
+        onResponse.accept(call.chunk(), response != null ? response : List.of());
+    }
+
+    private record InFlight<R>(List<Integer> chunk, CompletableFuture<List<R>> response) {
+    }
+}
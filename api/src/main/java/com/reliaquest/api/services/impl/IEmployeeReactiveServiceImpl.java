@@ -0,0 +1,377 @@
+package com.reliaquest.api.services.impl;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.ReactiveEmployeeApiClient;
+import com.reliaquest.api.exceptionhandler.ApiException;
+import com.reliaquest.api.index.NameSearchIndex;
+import com.reliaquest.api.index.TopEarners;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.BatchItemStatus;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeRequest;
+import com.reliaquest.api.properties.UpstreamProperties;
+import com.reliaquest.api.services.IEmployeeReactiveService;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * {@link IEmployeeReactiveService} on {@link ReactiveEmployeeApiClient}, enabled with {@code service.mode=reactive}.
+ * <p>
+ * Reads are answered from the {@link EmployeeSnapshotCache} shared with the blocking service whenever it holds a
+ * snapshot, and from the upstream only on a cold or disabled cache; writes go to the upstream and are patched into the
+ * snapshot. No method blocks: multi-call operations are composed into a single pipeline, and the controller hands
+ * every {@link Mono} to Spring MVC, which releases the request thread until the upstream answers.
+ *
+ * @author Prashant Patel
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "service", name = "mode", havingValue = "reactive")
+public class IEmployeeReactiveServiceImpl implements IEmployeeReactiveService {
+
+    private static final int UPSTREAM_MAX_TOP_EARNERS = 1000;
+
+    @Autowired
+    private ReactiveEmployeeApiClient employeeApiClient;
+
+    @Autowired
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    @Autowired
+    private UpstreamProperties upstreamProperties;
+
+    @Autowired
+    private Validator validator;
+
+    private volatile boolean deleteByIdSupported = true;
+
+    private volatile boolean aggregatesSupported = true;
+
+    @Override
+    public Mono<List<Employee>> getAllEmployees() {
+        return employeeSnapshotCache.peek()
+                .map(snapshot -> Mono.just(snapshot.getEmployees()))
+                .orElseGet(employeeApiClient::getAllEmployees);
+    }
+
+    /**
+     * The version of the cached snapshot; the roster is not versioned on a cold or disabled cache.
+     */
+    @Override
+    public Optional<String> getAllEmployeesETag() {
+        return employeeSnapshotCache.peekETag();
+    }
+
+    @Override
+    public Mono<List<Employee>> getEmployeesByNameSearch(String searchString) {
+        return getEmployeesByNameSearch(searchString, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Mono<List<Employee>> getEmployeesByNameSearch(String searchString, int offset, int limit) {
+        if (offset < 0 || limit < 1) {
+            return Mono.error(new ApiException(HttpStatus.BAD_REQUEST,
+                    "Offset must not be negative and limit must be greater than zero."));
+        }
+        Optional<EmployeeSnapshot> cached = employeeSnapshotCache.peek();
+        if (cached.isPresent()) {
+            return Mono.just(cached.get().getNameSearchIndex().search(searchString, offset, limit));
+        }
+        String normalized = NameSearchIndex.normalize(searchString);
+        return employees()
+                .filter(e -> e.getName() != null && NameSearchIndex.normalize(e.getName()).contains(normalized))
+                .skip(offset)
+                .take(limit)
+                .collectList();
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(String id) {
+        return employeeSnapshotCache.peek()
+                .flatMap(snapshot -> snapshot.findById(id))
+                .map(Mono::just)
+                .orElseGet(() -> employeeApiClient.getEmployeeById(id));
+    }
+
+    /**
+     * Answered from the cached snapshot when there is one, else by the upstream salary statistics, and only else by
+     * reading the whole roster.
+     */
+    @Override
+    public Mono<Integer> getHighestSalaryOfEmployees() {
+        Optional<EmployeeSnapshot> cached = employeeSnapshotCache.peek();
+        if (cached.isPresent()) {
+            return Mono.just(cached.get().getSalaryIndex().getHighestSalary());
+        }
+        Mono<Integer> fromRoster = employeeApiClient.getAllEmployees().map(TopEarners::highestSalary);
+        return fromAggregates(() -> employeeApiClient.getSalaryStatistics()
+                        .map(statistics -> statistics.getMaxSalary() != null ? statistics.getMaxSalary() : 0),
+                fromRoster);
+    }
+
+    @Override
+    public Mono<List<String>> getTopTenHighestEarningEmployeeNames() {
+        return getTopHighestEarningEmployeeNames(10);
+    }
+
+    /**
+     * Same sources as {@link #getHighestSalaryOfEmployees()}; the upstream serves at most
+     * {@value #UPSTREAM_MAX_TOP_EARNERS} top earners, larger counts read the roster.
+     */
+    @Override
+    public Mono<List<String>> getTopHighestEarningEmployeeNames(int count) {
+        if (count < 1) {
+            return Mono.error(new ApiException(HttpStatus.BAD_REQUEST, "Count must be greater than zero."));
+        }
+        Optional<EmployeeSnapshot> cached = employeeSnapshotCache.peek();
+        if (cached.isPresent()) {
+            return Mono.just(cached.get().getSalaryIndex().getTopEarners(count).stream().map(Employee::getName).toList());
+        }
+        Mono<List<Employee>> fromRoster = employeeApiClient.getAllEmployees()
+                .map(employees -> TopEarners.of(employees, count));
+        Mono<List<Employee>> topEarners = count <= UPSTREAM_MAX_TOP_EARNERS
+                ? fromAggregates(() -> employeeApiClient.getTopEarners(count), fromRoster)
+                : fromRoster;
+        return topEarners.map(employees -> employees.stream().map(Employee::getName).toList());
+    }
+
+    @Override
+    public Mono<Employee> createEmployee(EmployeeRequest employeeInput) {
+        return employeeApiClient.createEmployee(employeeInput)
+                .doOnNext(employee -> employeeSnapshotCache.patch(snapshot -> snapshot.with(employee)));
+    }
+
+    /**
+     * A single upstream call when the upstream supports deleting by id, otherwise the delete by name, with the name
+     * taken from the snapshot or else looked up upstream first.
+     */
+    @Override
+    public Mono<String> deleteEmployeeById(String id) {
+        if (!upstreamProperties.isDeleteById() || !deleteByIdSupported) {
+            return deleteEmployeeByName(id);
+        }
+        return employeeApiClient.deleteEmployeeById(id)
+                .map(employee -> employee.getName() != null ? employee.getName() : "")
+                .defaultIfEmpty("")
+                .doOnNext(name -> employeeSnapshotCache.patch(snapshot -> snapshot.without(id)))
+                .onErrorResume(e -> e instanceof HttpStatusCodeException statusError
+                                && HttpStatus.METHOD_NOT_ALLOWED.equals(statusError.getStatusCode()),
+                        e -> {
+                            log.info("Upstream does not support deleting by id, deleting by name from now on.");
+                            deleteByIdSupported = false;
+                            return deleteEmployeeByName(id);
+                        });
+    }
+
+    @Override
+    public Mono<List<BatchItemResult<Employee>>> createEmployees(List<EmployeeRequest> employeeInputs) {
+        return Mono.defer(() -> {
+            UpstreamProperties.Batch batch = upstreamProperties.getBatch();
+            EmployeeBatches.checkSize(employeeInputs, batch.getMaxItems());
+            @SuppressWarnings("unchecked")
+            BatchItemResult<Employee>[] results = new BatchItemResult[employeeInputs.size()];
+            List<Integer> valid = new ArrayList<>(employeeInputs.size());
+            for (int i = 0; i < employeeInputs.size(); i++) {
+                String violations = EmployeeBatches.violations(validator, employeeInputs.get(i));
+                if (violations != null) {
+                    results[i] = BatchItemResult.failure(i, BatchItemStatus.INVALID, violations);
+                } else {
+                    valid.add(i);
+                }
+            }
+            List<Employee> created = new ArrayList<>(valid.size());
+            return EmployeeBatches.pipelineAsync(EmployeeBatches.partition(valid, batch.getSize()), batch.getParallelism(),
+                            chunk -> employeeApiClient.createEmployees(chunk.stream().map(employeeInputs::get).toList()),
+                            (chunk, employees) -> {
+                                for (int i = 0; i < chunk.size(); i++) {
+                                    int index = chunk.get(i);
+                                    if (i < employees.size() && employees.get(i) != null) {
+                                        results[index] = BatchItemResult.success(index, BatchItemStatus.CREATED, employees.get(i));
+                                        created.add(employees.get(i));
+                                    } else {
+                                        results[index] = BatchItemResult.failure(index, BatchItemStatus.FAILED, "No result from upstream.");
+                                    }
+                                }
+                            },
+                            (chunk, failure) -> chunk.forEach(index -> results[index] =
+                                    BatchItemResult.failure(index, BatchItemStatus.FAILED, EmployeeBatches.failureMessage(failure))))
+                    .then(Mono.fromSupplier(() -> {
+                        if (!created.isEmpty()) {
+                            employeeSnapshotCache.patch(snapshot -> snapshot.withAll(created));
+                        }
+                        return Arrays.asList(results);
+                    }));
+        });
+    }
+
+    /**
+     * Deletes every distinct id once, through the upstream delete by id with up to {@code upstream.batch.parallelism}
+     * calls in flight; a repeated id gets the result of its first occurrence. Without delete by id upstream, the ids
+     * fall back to {@link #deleteByNames(List, List, BatchItemResult[], List)}.
+     */
+    @Override
+    public Mono<List<BatchItemResult<String>>> deleteEmployeesById(List<String> ids) {
+        return Mono.defer(() -> {
+            EmployeeBatches.checkSize(ids, upstreamProperties.getBatch().getMaxItems());
+            @SuppressWarnings("unchecked")
+            BatchItemResult<String>[] results = new BatchItemResult[ids.size()];
+            int[] firstOccurrences = EmployeeBatches.firstOccurrences(ids);
+            List<Integer> distinct = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                if (ids.get(i) == null || ids.get(i).isBlank()) {
+                    results[i] = BatchItemResult.failure(i, BatchItemStatus.INVALID, "Id must not be blank.");
+                } else if (firstOccurrences[i] == i) {
+                    distinct.add(i);
+                }
+            }
+            List<String> deletedIds = new ArrayList<>(distinct.size());
+            List<Integer> byName = new ArrayList<>();
+            Mono<Void> byId = Mono.empty();
+            if (upstreamProperties.isDeleteById() && deleteByIdSupported) {
+                byId = deleteEachById(ids, distinct, results, deletedIds, byName);
+            } else {
+                byName.addAll(distinct);
+            }
+            return byId
+                    .then(Mono.defer(() -> byName.isEmpty() ? Mono.<Void>empty()
+                            : deleteByNames(ids, byName, results, deletedIds)))
+                    .then(Mono.fromSupplier(() -> {
+                        if (!deletedIds.isEmpty()) {
+                            employeeSnapshotCache.patch(snapshot -> snapshot.withoutAll(deletedIds));
+                        }
+                        EmployeeBatches.copyRepeats(results, firstOccurrences);
+                        return Arrays.asList(results);
+                    }));
+        });
+    }
+
+    /**
+     * Deletes the ids at the given indexes one upstream call each, collecting those the upstream cannot delete by id.
+     */
+    private Mono<Void> deleteEachById(List<String> ids, List<Integer> indexes, BatchItemResult<String>[] results,
+                                      List<String> deletedIds, List<Integer> unsupported) {
+        return EmployeeBatches.pipelineAsync(EmployeeBatches.partition(indexes, 1), upstreamProperties.getBatch().getParallelism(),
+                chunk -> employeeApiClient.deleteEmployeeById(ids.get(chunk.get(0)))
+                        .map(employee -> employee.getName() != null ? employee.getName() : "")
+                        .defaultIfEmpty("")
+                        .map(List::of),
+                (chunk, names) -> {
+                    int index = chunk.get(0);
+                    results[index] = BatchItemResult.success(index, BatchItemStatus.DELETED, names.isEmpty() ? "" : names.get(0));
+                    deletedIds.add(ids.get(index));
+                },
+                (chunk, failure) -> {
+                    int index = chunk.get(0);
+                    if (failure instanceof ApiException apiException && HttpStatus.NOT_FOUND.equals(apiException.getStatus())) {
+                        results[index] = BatchItemResult.failure(index, BatchItemStatus.NOT_FOUND, apiException.getMessage());
+                    } else if (failure instanceof HttpStatusCodeException statusError
+                            && HttpStatus.METHOD_NOT_ALLOWED.equals(statusError.getStatusCode())) {
+                        if (deleteByIdSupported) {
+                            log.info("Upstream does not support deleting by id, deleting by name from now on.");
+                            deleteByIdSupported = false;
+                        }
+                        unsupported.add(index);
+                    } else {
+                        results[index] = BatchItemResult.failure(index, BatchItemStatus.FAILED, EmployeeBatches.failureMessage(failure));
+                    }
+                });
+    }
+
+    /**
+     * Resolves the names to delete by from the snapshot, or a single roster read on a cold cache, then deletes them
+     * through the upstream batch endpoint. Only exact while the names are unique: the upstream deletes the first
+     * employee of each name.
+     */
+    private Mono<Void> deleteByNames(List<String> ids, List<Integer> indexes, BatchItemResult<String>[] results,
+                                     List<String> deletedIds) {
+        return getAllEmployees().flatMap(roster -> {
+            Map<String, Employee> employeesById = new HashMap<>();
+            for (Employee employee : roster) {
+                if (employee.getId() != null) {
+                    employeesById.putIfAbsent(employee.getId(), employee);
+                }
+            }
+            List<Integer> found = new ArrayList<>(indexes.size());
+            for (int i : indexes) {
+                Employee employee = employeesById.get(ids.get(i));
+                if (employee == null || employee.getName() == null) {
+                    results[i] = BatchItemResult.failure(i, BatchItemStatus.NOT_FOUND, "Employee with " + ids.get(i) + " not found.");
+                } else {
+                    found.add(i);
+                }
+            }
+            UpstreamProperties.Batch batch = upstreamProperties.getBatch();
+            return EmployeeBatches.pipelineAsync(EmployeeBatches.partition(found, batch.getSize()), batch.getParallelism(),
+                    chunk -> employeeApiClient.deleteEmployeesByName(
+                            chunk.stream().map(index -> employeesById.get(ids.get(index)).getName()).toList()),
+                    (chunk, deleted) -> {
+                        for (int i = 0; i < chunk.size(); i++) {
+                            int index = chunk.get(i);
+                            if (i < deleted.size() && Boolean.TRUE.equals(deleted.get(i))) {
+                                results[index] = BatchItemResult.success(index, BatchItemStatus.DELETED,
+                                        employeesById.get(ids.get(index)).getName());
+                                deletedIds.add(ids.get(index));
+                            } else {
+                                results[index] = BatchItemResult.failure(index, BatchItemStatus.NOT_FOUND,
+                                        "Employee with " + ids.get(index) + " not found.");
+                            }
+                        }
+                    },
+                    (chunk, failure) -> chunk.forEach(index -> results[index] =
+                            BatchItemResult.failure(index, BatchItemStatus.FAILED, EmployeeBatches.failureMessage(failure))));
+        });
+    }
+
+    /**
+     * @return the aggregate call, or the fallback when the upstream does not offer aggregates
+     */
+    private <T> Mono<T> fromAggregates(Supplier<Mono<T>> aggregate, Mono<T> fallback) {
+        if (!upstreamProperties.isAggregates() || !aggregatesSupported) {
+            return fallback;
+        }
+        return aggregate.get().onErrorResume(e -> e instanceof HttpStatusCodeException statusError
+                        && (HttpStatus.NOT_FOUND.equals(statusError.getStatusCode())
+                        || HttpStatus.METHOD_NOT_ALLOWED.equals(statusError.getStatusCode())),
+                e -> {
+                    log.info("Upstream does not offer aggregates, reading the roster from now on.");
+                    aggregatesSupported = false;
+                    return fallback;
+                });
+    }
+
+    private Mono<String> deleteEmployeeByName(String id) {
+        return getEmployeeById(id)
+                .flatMap(employee -> employeeApiClient.deleteEmployeeByName(employee.getName())
+                        .map(deleted -> {
+                            if (!deleted) {
+                                return "";
+                            }
+                            employeeSnapshotCache.patch(snapshot -> snapshot.without(id));
+                            return employee.getName();
+                        }))
+                .onErrorMap(e -> e instanceof HttpStatusCodeException statusError
+                                && HttpStatus.NOT_FOUND.equals(statusError.getStatusCode()),
+                        e -> new ApiException(HttpStatus.NOT_FOUND, "Employee with " + id + " not found."))
+                .defaultIfEmpty("");
+    }
+
+    private Flux<Employee> employees() {
+        return employeeApiClient.getAllEmployees().flatMapIterable(employees -> employees);
+    }
+}
@@ -1,126 +1,410 @@
 package com.reliaquest.api.services.impl;
 
+import com.reliaquest.api.cache.EmployeeIdIndex;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.EmployeeApiClient;
 import com.reliaquest.api.exceptionhandler.ApiException;
+import com.reliaquest.api.index.NameSearchIndex;
+import com.reliaquest.api.index.TopEarners;
 import com.reliaquest.api.model.*;
-import com.reliaquest.api.properties.UrlProperties;
+import com.reliaquest.api.properties.UpstreamProperties;
 import com.reliaquest.api.services.IEmployeeService;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  * @author Prashant Patel
  */
 @Slf4j
 @Service
+@ConditionalOnProperty(prefix = "service", name = "mode", havingValue = "blocking", matchIfMissing = true)
 public class IEmployeeServiceImpl implements IEmployeeService {
 
+    private static final int UPSTREAM_MAX_TOP_EARNERS = 1000;
+
+    @Autowired
+    private EmployeeApiClient employeeApiClient;
+
+    @Autowired
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    @Autowired
+    private UpstreamProperties upstreamProperties;
+
+    @Autowired
+    private Validator validator;
+
     @Autowired
-    private RestTemplate restTemplate;
+    private EmployeeIdIndex employeeIdIndex;
 
     @Autowired
-    private UrlProperties properties;
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
+
+    private volatile boolean deleteByIdSupported = true;
+
+    private volatile boolean aggregatesSupported = true;
 
     @Override
     public List<Employee> getAllEmployees() {
-        String url = properties.getEmployee();
-        final HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        ParameterizedTypeReference<ApiResponse<List<Employee>>> typeReference = new ParameterizedTypeReference<>() {
-        };
-        ResponseEntity<ApiResponse<List<Employee>>> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), typeReference);
-        if (response.getBody() != null) {
-            return response.getBody().getData();
-        }
-        return new ArrayList<>();
+        return employeeSnapshotCache.getSnapshot().getEmployees();
+    }
+
+    /**
+     * The version of the cached snapshot; the roster is not versioned on a cold or disabled cache.
+     */
+    @Override
+    public Optional<String> getAllEmployeesETag() {
+        return employeeSnapshotCache.peekETag();
     }
 
     @Override
     public List<Employee> getEmployeesByNameSearch(String searchString) {
-        return getAllEmployees().stream().filter(e -> e.getName().toLowerCase().contains(searchString.toLowerCase())).toList();
+        return getEmployeesByNameSearch(searchString, 0, Integer.MAX_VALUE);
     }
 
     @Override
-    public Employee getEmployeeById(String id) {
-        String url = String.format(properties.getEmployeeById(), id);
-        final HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        ParameterizedTypeReference<ApiResponse<Employee>> typeReference = new ParameterizedTypeReference<>() {
-        };
-        try {
-            ResponseEntity<ApiResponse<Employee>> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), typeReference);
-            if (response.getBody() != null) {
-                return response.getBody().getData();
-            }
-        } catch (HttpStatusCodeException e) {
-            if (HttpStatus.NOT_FOUND.equals(e.getStatusCode())) {
-                throw new ApiException(HttpStatus.NOT_FOUND, "Employee with " + id + " not found.");
-            }
-            throw e;
+    public List<Employee> getEmployeesByNameSearch(String searchString, int offset, int limit) {
+        if (offset < 0 || limit < 1) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Offset must not be negative and limit must be greater than zero.");
         }
-        return null;
+        if (!employeeSnapshotCache.isEnabled()) {
+            return streamEmployeesByNameSearch(searchString, offset, limit);
+        }
+        return employeeSnapshotCache.getSnapshot().getNameSearchIndex().search(searchString, offset, limit);
+    }
+
+    @Override
+    public Employee getEmployeeById(String id) {
+        return employeeSnapshotCache.peek()
+                .flatMap(snapshot -> snapshot.findById(id))
+                .orElseGet(() -> employeeApiClient.getEmployeeById(id));
     }
 
+    /**
+     * Answered from the cached snapshot when there is one, else by the upstream salary statistics, and only else by
+     * reading the whole roster.
+     */
     @Override
     public Integer getHighestSalaryOfEmployees() {
-        return getAllEmployees().stream().mapToInt(Employee::getSalary).max().orElse(0);
+        Optional<EmployeeSnapshot> cached = employeeSnapshotCache.peek();
+        if (cached.isPresent()) {
+            return cached.get().getSalaryIndex().getHighestSalary();
+        }
+        Optional<SalaryStatistics> statistics = fromAggregates(employeeApiClient::getSalaryStatistics);
+        if (statistics.isPresent()) {
+            return statistics.get().getMaxSalary() != null ? statistics.get().getMaxSalary() : 0;
+        }
+        if (!employeeSnapshotCache.isEnabled()) {
+            int[] highest = {0};
+            employeeApiClient.streamAllEmployees(employee -> {
+                if (employee.getSalary() != null && employee.getSalary() > highest[0]) {
+                    highest[0] = employee.getSalary();
+                }
+            });
+            return highest[0];
+        }
+        return employeeSnapshotCache.getSnapshot().getSalaryIndex().getHighestSalary();
     }
 
     @Override
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        return getAllEmployees().stream()
-                .sorted(Comparator.comparing(Employee::getSalary).reversed())
-                .limit(10).map(Employee::getName).toList();
+        return getTopHighestEarningEmployeeNames(10);
+    }
+
+    /**
+     * Same sources as {@link #getHighestSalaryOfEmployees()}; the upstream serves at most
+     * {@value #UPSTREAM_MAX_TOP_EARNERS} top earners, larger counts read the roster.
+     */
+    @Override
+    public List<String> getTopHighestEarningEmployeeNames(int count) {
+        if (count < 1) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Count must be greater than zero.");
+        }
+        Optional<EmployeeSnapshot> cached = employeeSnapshotCache.peek();
+        if (cached.isPresent()) {
+            return cached.get().getSalaryIndex().getTopEarners(count).stream().map(Employee::getName).toList();
+        }
+        if (count <= UPSTREAM_MAX_TOP_EARNERS) {
+            Optional<List<Employee>> topEarners = fromAggregates(() -> employeeApiClient.getTopEarners(count));
+            if (topEarners.isPresent()) {
+                return topEarners.get().stream().map(Employee::getName).toList();
+            }
+        }
+        if (!employeeSnapshotCache.isEnabled()) {
+            return streamTopEarners(count).stream().map(Employee::getName).toList();
+        }
+        return employeeSnapshotCache.getSnapshot().getSalaryIndex().getTopEarners(count).stream()
+                .map(Employee::getName).toList();
     }
 
     @Override
     public Employee createEmployee(EmployeeRequest employeeInput) {
-        String url = properties.getEmployee();
-        final HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<EmployeeRequest> httpEntity = new HttpEntity<>(employeeInput, headers);
-        ParameterizedTypeReference<ApiResponse<Employee>> typeReference = new ParameterizedTypeReference<>() {
-        };
-        ResponseEntity<ApiResponse<Employee>> response = restTemplate.exchange(url, HttpMethod.POST, httpEntity, typeReference);
-        if (response.getBody() != null) {
-            return response.getBody().getData();
+        Employee employee = employeeApiClient.createEmployee(employeeInput);
+        if (employee != null) {
+            employeeSnapshotCache.patch(snapshot -> snapshot.with(employee));
         }
-        return null;
+        return employee;
     }
 
+    /**
+     * A single upstream call: the delete by id when the upstream supports it, otherwise the delete by name with the
+     * name taken from the snapshot or the id index. Only a miss in both costs an upstream lookup first.
+     */
     @Override
     public String deleteEmployeeById(String id) {
-        Employee employeeById = getEmployeeById(id);
-        if (employeeById != null) {
-            String url = properties.getEmployee();
-            final HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            DeleteEmployeeRequest deleteEmployeeRequest = new DeleteEmployeeRequest(employeeById.getName());
-            HttpEntity<DeleteEmployeeRequest> httpEntity = new HttpEntity<>(deleteEmployeeRequest, headers);
-            ParameterizedTypeReference<ApiResponse<Boolean>> typeReference = new ParameterizedTypeReference<>() {
-            };
+        if (upstreamProperties.isDeleteById() && deleteByIdSupported) {
             try {
-                ResponseEntity<ApiResponse<Boolean>> response = restTemplate.exchange(url, HttpMethod.DELETE, httpEntity, typeReference);
-                if (response.getBody() != null) {
-                    if (response.getBody().getData()) {
-                        return employeeById.getName();
-                    }
-                }
+                Employee deleted = employeeApiClient.deleteEmployeeById(id);
+                employeeSnapshotCache.patch(snapshot -> snapshot.without(id));
+                return deleted != null && deleted.getName() != null ? deleted.getName() : "";
             } catch (HttpStatusCodeException e) {
-                if (HttpStatus.NOT_FOUND.equals(e.getStatusCode())) {
-                    throw new ApiException(HttpStatus.NOT_FOUND, "Employee with " + id + " not found.");
+                if (!HttpStatus.METHOD_NOT_ALLOWED.equals(e.getStatusCode())) {
+                    throw e;
                 }
-                throw e;
+                log.info("Upstream does not support deleting by id, deleting by name from now on.");
+                deleteByIdSupported = false;
+            }
+        }
+        String name = findName(id).orElseGet(() -> {
+            Employee employee = getEmployeeById(id);
+            return employee != null ? employee.getName() : null;
+        });
+        if (name == null) {
+            return "";
+        }
+        try {
+            if (employeeApiClient.deleteEmployeeByName(name)) {
+                employeeIdIndex.remove(id);
+                employeeSnapshotCache.patch(snapshot -> snapshot.without(id));
+                return name;
+            }
+        } catch (HttpStatusCodeException e) {
+            if (HttpStatus.NOT_FOUND.equals(e.getStatusCode())) {
+                throw new ApiException(HttpStatus.NOT_FOUND, "Employee with " + id + " not found.");
             }
+            throw e;
         }
         return "";
     }
+
+    @Override
+    public List<BatchItemResult<Employee>> createEmployees(List<EmployeeRequest> employeeInputs) {
+        UpstreamProperties.Batch batch = upstreamProperties.getBatch();
+        EmployeeBatches.checkSize(employeeInputs, batch.getMaxItems());
+        @SuppressWarnings("unchecked")
+        BatchItemResult<Employee>[] results = new BatchItemResult[employeeInputs.size()];
+        List<Integer> valid = new ArrayList<>(employeeInputs.size());
+        for (int i = 0; i < employeeInputs.size(); i++) {
+            String violations = EmployeeBatches.violations(validator, employeeInputs.get(i));
+            if (violations != null) {
+                results[i] = BatchItemResult.failure(i, BatchItemStatus.INVALID, violations);
+            } else {
+                valid.add(i);
+            }
+        }
+        List<Employee> created = new ArrayList<>(valid.size());
+        EmployeeBatches.pipeline(EmployeeBatches.partition(valid, batch.getSize()), batch.getParallelism(),
+                chunk -> CompletableFuture.supplyAsync(
+                        () -> employeeApiClient.createEmployees(chunk.stream().map(employeeInputs::get).toList()), taskExecutor),
+                (chunk, employees) -> {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        int index = chunk.get(i);
+                        if (i < employees.size() && employees.get(i) != null) {
+                            results[index] = BatchItemResult.success(index, BatchItemStatus.CREATED, employees.get(i));
+                            created.add(employees.get(i));
+                        } else {
+                            results[index] = BatchItemResult.failure(index, BatchItemStatus.FAILED, "No result from upstream.");
+                        }
+                    }
+                },
+                (chunk, failure) -> chunk.forEach(index -> results[index] =
+                        BatchItemResult.failure(index, BatchItemStatus.FAILED, EmployeeBatches.failureMessage(failure))));
+        if (!created.isEmpty()) {
+            employeeSnapshotCache.patch(snapshot -> snapshot.withAll(created));
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Deletes every distinct id once, through the upstream delete by id with up to {@code upstream.batch.parallelism}
+     * calls in flight; a repeated id gets the result of its first occurrence. Without delete by id upstream, the ids
+     * fall back to {@link #deleteByNames(List, List, BatchItemResult[], List)}.
+     */
+    @Override
+    public List<BatchItemResult<String>> deleteEmployeesById(List<String> ids) {
+        EmployeeBatches.checkSize(ids, upstreamProperties.getBatch().getMaxItems());
+        @SuppressWarnings("unchecked")
+        BatchItemResult<String>[] results = new BatchItemResult[ids.size()];
+        int[] firstOccurrences = EmployeeBatches.firstOccurrences(ids);
+        List<Integer> distinct = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null || ids.get(i).isBlank()) {
+                results[i] = BatchItemResult.failure(i, BatchItemStatus.INVALID, "Id must not be blank.");
+            } else if (firstOccurrences[i] == i) {
+                distinct.add(i);
+            }
+        }
+        List<String> deletedIds = new ArrayList<>(distinct.size());
+        List<Integer> byName = distinct;
+        if (upstreamProperties.isDeleteById() && deleteByIdSupported) {
+            byName = new ArrayList<>();
+            deleteEachById(ids, distinct, results, deletedIds, byName);
+        }
+        if (!byName.isEmpty()) {
+            deleteByNames(ids, byName, results, deletedIds);
+        }
+        if (!deletedIds.isEmpty()) {
+            employeeSnapshotCache.patch(current -> current.withoutAll(deletedIds));
+        }
+        EmployeeBatches.copyRepeats(results, firstOccurrences);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Deletes the ids at the given indexes one upstream call each, collecting those the upstream cannot delete by id.
+     */
+    private void deleteEachById(List<String> ids, List<Integer> indexes, BatchItemResult<String>[] results,
+                                List<String> deletedIds, List<Integer> unsupported) {
+        EmployeeBatches.pipeline(EmployeeBatches.partition(indexes, 1), upstreamProperties.getBatch().getParallelism(),
+                chunk -> CompletableFuture.supplyAsync(() -> {
+                    Employee deleted = employeeApiClient.deleteEmployeeById(ids.get(chunk.get(0)));
+                    return List.of(deleted != null && deleted.getName() != null ? deleted.getName() : "");
+                }, taskExecutor),
+                (chunk, names) -> {
+                    int index = chunk.get(0);
+                    results[index] = BatchItemResult.success(index, BatchItemStatus.DELETED, names.isEmpty() ? "" : names.get(0));
+                    deletedIds.add(ids.get(index));
+                },
+                (chunk, failure) -> {
+                    int index = chunk.get(0);
+                    if (failure instanceof ApiException apiException && HttpStatus.NOT_FOUND.equals(apiException.getStatus())) {
+                        results[index] = BatchItemResult.failure(index, BatchItemStatus.NOT_FOUND, apiException.getMessage());
+                    } else if (failure instanceof HttpStatusCodeException statusError
+                            && HttpStatus.METHOD_NOT_ALLOWED.equals(statusError.getStatusCode())) {
+                        if (deleteByIdSupported) {
+                            log.info("Upstream does not support deleting by id, deleting by name from now on.");
+                            deleteByIdSupported = false;
+                        }
+                        unsupported.add(index);
+                    } else {
+                        results[index] = BatchItemResult.failure(index, BatchItemStatus.FAILED, EmployeeBatches.failureMessage(failure));
+                    }
+                });
+    }
+
+    /**
+     * Resolves the names to delete by from the snapshot or the id index, reading the roster once only if some id is in
+     * neither, then deletes them through the upstream batch endpoint. Only exact while the names are unique: the
+     * upstream deletes the first employee of each name.
+     */
+    private void deleteByNames(List<String> ids, List<Integer> indexes, BatchItemResult<String>[] results,
+                               List<String> deletedIds) {
+        List<String> names = new ArrayList<>(Collections.nCopies(ids.size(), null));
+        EmployeeSnapshot roster = null;
+        List<Integer> found = new ArrayList<>(indexes.size());
+        for (int i : indexes) {
+            String id = ids.get(i);
+            String name = findName(id).orElse(null);
+            if (name == null) {
+                if (roster == null) {
+                    roster = employeeSnapshotCache.getSnapshot();
+                }
+                name = roster.findById(id).map(Employee::getName).orElse(null);
+            }
+            if (name == null) {
+                results[i] = BatchItemResult.failure(i, BatchItemStatus.NOT_FOUND, "Employee with " + id + " not found.");
+            } else {
+                names.set(i, name);
+                found.add(i);
+            }
+        }
+        UpstreamProperties.Batch batch = upstreamProperties.getBatch();
+        EmployeeBatches.pipeline(EmployeeBatches.partition(found, batch.getSize()), batch.getParallelism(),
+                chunk -> CompletableFuture.supplyAsync(
+                        () -> employeeApiClient.deleteEmployeesByName(chunk.stream().map(names::get).toList()), taskExecutor),
+                (chunk, deleted) -> {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        int index = chunk.get(i);
+                        if (i < deleted.size() && Boolean.TRUE.equals(deleted.get(i))) {
+                            results[index] = BatchItemResult.success(index, BatchItemStatus.DELETED, names.get(index));
+                            employeeIdIndex.remove(ids.get(index));
+                            deletedIds.add(ids.get(index));
+                        } else {
+                            results[index] = BatchItemResult.failure(index, BatchItemStatus.NOT_FOUND,
+                                    "Employee with " + ids.get(index) + " not found.");
+                        }
+                    }
+                },
+                (chunk, failure) -> chunk.forEach(index -> results[index] =
+                        BatchItemResult.failure(index, BatchItemStatus.FAILED, EmployeeBatches.failureMessage(failure))));
+    }
+
+    /**
+     * @return the result of an upstream aggregate call, or empty when the upstream does not offer aggregates
+     */
+    private <T> Optional<T> fromAggregates(Supplier<T> call) {
+        if (!upstreamProperties.isAggregates() || !aggregatesSupported) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(call.get());
+        } catch (HttpStatusCodeException e) {
+            if (!HttpStatus.NOT_FOUND.equals(e.getStatusCode()) && !HttpStatus.METHOD_NOT_ALLOWED.equals(e.getStatusCode())) {
+                throw e;
+            }
+            log.info("Upstream does not offer aggregates, reading the roster from now on.");
+            aggregatesSupported = false;
+            return Optional.empty();
+        }
+    }
+
+    private Optional<String> findName(String id) {
+        return employeeSnapshotCache.peek()
+                .flatMap(snapshot -> snapshot.findById(id))
+                .map(Employee::getName)
+                .or(() -> employeeIdIndex.findName(id));
+    }
+
+    /**
+     * Single pass over the streamed roster keeping only the requested page of matches, stopping once the page is full.
+     */
+    private List<Employee> streamEmployeesByNameSearch(String searchString, int offset, int limit) {
+        String normalized = NameSearchIndex.normalize(searchString);
+        List<Employee> matches = new ArrayList<>();
+        int[] skipped = {0};
+        employeeApiClient.streamEmployeesWhile(employee -> {
+            if (employee.getName() != null
+                    && NameSearchIndex.normalize(employee.getName()).contains(normalized) && skipped[0]++ >= offset) {
+                matches.add(employee);
+            }
+            return matches.size() < limit;
+        });
+        return matches;
+    }
+
+    /**
+     * Single pass over the streamed roster holding at most {@code count} employees.
+     */
+    private List<Employee> streamTopEarners(int count) {
+        TopEarners top = new TopEarners(count);
+        employeeApiClient.streamAllEmployees(top::offer);
+        return top.toList();
+    }
 }
@@ -12,16 +12,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -120,6 +124,32 @@ public class ApiApplicationTest {
         verify(employeeService, times(1)).getAllEmployees();
     }
 
+    @Test
+    public void testGetAllEmployeesAnswersMatchingETagWithNotModified() throws Exception {
+        when(employeeService.getAllEmployeesETag()).thenReturn(Optional.of("\"1a2b-7\""));
+        when(employeeService.getAllEmployees()).thenReturn(List.of(
+                new Employee(UUID.randomUUID().toString(), "John Doe", 5000, 30, "Developer", "john.doe@example.com")
+        ));
+
+        mockMvc.perform(get("/employees")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1a2b-7\""))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(get("/employees")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1a2b-7\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/employees")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1a2b-6\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
     @Test
     public void testGetEmployeesByNameSearch() throws Exception {
         String employeeId1 = UUID.randomUUID().toString();
@@ -0,0 +1,64 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.metrics.ApiMetrics;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.properties.CacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeIdIndexTest {
+
+    @Spy
+    private CacheProperties properties = new CacheProperties();
+
+    @Spy
+    private ApiMetrics metrics = new ApiMetrics(new SimpleMeterRegistry(), "http://localhost:8112/api/v1/employee");
+
+    @InjectMocks
+    private EmployeeIdIndex index;
+
+    private static Employee employee(String id, String name) {
+        return new Employee(id, name, 5000, 30, "Developer", id + "@company.com");
+    }
+
+    @Test
+    public void testRosterReplacesTheIndex() {
+        index.put(employee("9", "Gone"));
+
+        index.replaceAll(List.of(employee("1", "Ada"), employee("2", null), employee(null, "Bob")));
+
+        assertEquals(Optional.of("Ada"), index.findName("1"));
+        assertEquals(Optional.empty(), index.findName("2"));
+        assertEquals(Optional.empty(), index.findName("9"));
+        assertEquals(Optional.empty(), index.findName(null));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testPutStopsAtTheMaximumSizeButKeepsUpdating() {
+        properties.setIdIndexMaxSize(2);
+        index.replaceAll(List.of(employee("1", "Ada"), employee("2", "Bob"), employee("3", "Cy")));
+        assertEquals(2, index.size());
+
+        index.put(employee("4", "Dee"));
+        index.put(employee("2", "Robert"));
+
+        assertEquals(Optional.empty(), index.findName("4"));
+        assertEquals(Optional.of("Robert"), index.findName("2"));
+
+        index.remove("1");
+        index.put(employee("4", "Dee"));
+        assertEquals(Optional.of("Dee"), index.findName("4"));
+        assertEquals(Optional.empty(), index.findName("1"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.metrics.ApiMetrics;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.properties.CacheProperties;
+import com.reliaquest.api.properties.UpstreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeSnapshotCacheTest {
+
+    @Mock
+    private EmployeeApiClient employeeApiClient;
+
+    @Spy
+    private CacheProperties properties = new CacheProperties();
+
+    @Spy
+    private UpstreamProperties upstreamProperties = new UpstreamProperties();
+
+    @Spy
+    private ApiMetrics metrics = new ApiMetrics(new SimpleMeterRegistry(), "http://localhost:8112/api/v1/employee");
+
+    @InjectMocks
+    private EmployeeSnapshotCache cache;
+
+    private static Employee employee(String id) {
+        return new Employee(id, "Employee " + id, 5000, 30, "Developer", id + "@company.com");
+    }
+
+    private static EmployeeChanges changes(long version, boolean reset, EmployeeChange... changes) {
+        return new EmployeeChanges(42, version, reset, new ArrayList<>(List.of(changes)));
+    }
+
+    private static List<String> ids(EmployeeSnapshot snapshot) {
+        return snapshot.getEmployees().stream().map(Employee::getId).toList();
+    }
+
+    @Test
+    public void testRefreshAppliesChangesSinceTheSnapshot() {
+        when(employeeApiClient.getChanges(null, null, Duration.ZERO)).thenReturn(changes(7, true));
+        when(employeeApiClient.getAllEmployees()).thenReturn(List.of(employee("1"), employee("2")));
+        cache.refresh();
+        EmployeeSnapshot loaded = cache.getSnapshot();
+        assertEquals(new ChangeFeedPosition(42, 7), loaded.getPosition());
+
+        when(employeeApiClient.getChanges(7L, 42L, Duration.ZERO)).thenReturn(changes(9, false,
+                new EmployeeChange(8, EmployeeChange.Type.CREATED, "3", employee("3")),
+                new EmployeeChange(9, EmployeeChange.Type.DELETED, "1", null)));
+        cache.refresh();
+
+        EmployeeSnapshot refreshed = cache.getSnapshot();
+        assertEquals(List.of("2", "3"), ids(refreshed));
+        assertEquals(new ChangeFeedPosition(42, 9), refreshed.getPosition());
+        verify(employeeApiClient, times(1)).getAllEmployees();
+
+        when(employeeApiClient.getChanges(9L, 42L, Duration.ZERO)).thenReturn(changes(9, false));
+        cache.refresh();
+        assertSame(refreshed, cache.getSnapshot());
+    }
+
+    @Test
+    public void testResetReadsTheRosterAgainFromTheNewPosition() {
+        when(employeeApiClient.getChanges(null, null, Duration.ZERO)).thenReturn(changes(7, true));
+        when(employeeApiClient.getAllEmployees())
+                .thenReturn(List.of(employee("1")))
+                .thenReturn(List.of(employee("1"), employee("5")));
+        cache.refresh();
+        long version = cache.getSnapshot().getVersion();
+
+        when(employeeApiClient.getChanges(7L, 42L, Duration.ZERO)).thenReturn(changes(20, true));
+        cache.refresh();
+
+        EmployeeSnapshot reloaded = cache.getSnapshot();
+        assertEquals(List.of("1", "5"), ids(reloaded));
+        assertEquals(new ChangeFeedPosition(42, 20), reloaded.getPosition());
+        assertEquals(version + 1, reloaded.getVersion());
+        verify(employeeApiClient, times(2)).getAllEmployees();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {400, 404, 405})
+    public void testUpstreamWithoutFeedIsReadWhole(int status) {
+        when(employeeApiClient.getChanges(null, null, Duration.ZERO))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.valueOf(status), "", null, null, null));
+        when(employeeApiClient.getAllEmployees())
+                .thenReturn(List.of(employee("1")))
+                .thenReturn(List.of(employee("1"), employee("2")));
+
+        cache.refresh();
+        cache.refresh();
+
+        assertEquals(List.of("1", "2"), ids(cache.getSnapshot()));
+        verify(employeeApiClient, times(1)).getChanges(any(), any(), any());
+        verify(employeeApiClient, never()).getChanges(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    public void testDisabledFeedIsNeverAsked() {
+        upstreamProperties.setChanges(false);
+        when(employeeApiClient.getAllEmployees()).thenReturn(List.of(employee("1")));
+
+        cache.refresh();
+        cache.refresh();
+
+        verify(employeeApiClient, never()).getChanges(any(), any(), any());
+        verify(employeeApiClient, times(2)).getAllEmployees();
+    }
+}
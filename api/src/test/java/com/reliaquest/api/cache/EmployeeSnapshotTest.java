@@ -0,0 +1,125 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.index.NameSearchIndex;
+import com.reliaquest.api.model.EmployeeChanges;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmployeeSnapshotTest {
+
+    private static Employee employee(String id, Integer salary) {
+        return new Employee(id, "Employee " + id, salary, 30, "Developer", id + "@company.com");
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+
+    @Test
+    public void testWithAllReplacesInPlaceAndAppendsInOrder() {
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(List.of(employee("1", 5000), employee("2", 6000)));
+        snapshot.getSalaryIndex();
+
+        EmployeeSnapshot patched = snapshot.withAll(List.of(employee("3", 9000), employee("1", 8000), employee("4", 1000)));
+
+        assertEquals(List.of("1", "2", "3", "4"), ids(patched.getEmployees()));
+        assertEquals(8000, patched.findById("1").orElseThrow().getSalary());
+        assertEquals(List.of("3", "1", "2", "4"), ids(patched.getSalaryIndex().getTopEarners(10)));
+    }
+
+    @Test
+    public void testWithoutAllRemovesKnownIds() {
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(List.of(employee("1", 5000), employee("2", 6000), employee("3", 7000)));
+        snapshot.getSalaryIndex();
+
+        EmployeeSnapshot patched = snapshot.withoutAll(List.of("3", "1", "unknown"));
+
+        assertEquals(List.of("2"), ids(patched.getEmployees()));
+        assertEquals(6000, patched.getSalaryIndex().getHighestSalary());
+        assertSame(patched, patched.withoutAll(List.of("unknown")));
+    }
+
+    @Test
+    public void testLargeBatchRebuildsSalaryIndex() {
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(List.of(employee("seed", 5000)));
+        snapshot.getSalaryIndex();
+        List<Employee> added = IntStream.range(0, 500).mapToObj(i -> employee(String.valueOf(i), 10000 + i)).toList();
+
+        EmployeeSnapshot patched = snapshot.withAll(added);
+
+        assertEquals(501, patched.size());
+        assertEquals(10499, patched.getSalaryIndex().getHighestSalary());
+        assertEquals(501, patched.getSalaryIndex().size());
+    }
+
+    @Test
+    public void testEveryChangeAdvancesTheVersion() {
+        List<Employee> loaded = List.of(employee("1", 5000), employee("2", 6000));
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(loaded);
+
+        EmployeeSnapshot patched = snapshot.with(employee("3", 7000));
+        EmployeeSnapshot reloaded = patched.reload(List.of(employee("3", 7000)));
+
+        assertTrue(snapshot.isLoadedFrom(loaded));
+        assertFalse(snapshot.isLoadedFrom(new ArrayList<>(loaded)));
+        assertFalse(patched.isLoadedFrom(loaded));
+        assertEquals(List.of(0L, 1L, 2L), List.of(snapshot.getVersion(), patched.getVersion(), reloaded.getVersion()));
+        assertEquals(2, reloaded.without("unknown").getVersion());
+        assertEquals(3, reloaded.without("3").getVersion());
+    }
+
+    @Test
+    public void testApplyingChangesKeepsTheLastChangeOfEveryId() {
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(List.of(employee("1", 5000), employee("2", 6000)))
+                .withPosition(new ChangeFeedPosition(42, 7));
+        EmployeeSnapshot patched = snapshot.with(employee("3", 7000));
+
+        EmployeeSnapshot changed = patched.applying(new EmployeeChanges(42, 10, false, List.of(
+                new EmployeeChange(8, EmployeeChange.Type.CREATED, "3", employee("3", 7000)),
+                new EmployeeChange(8, EmployeeChange.Type.CREATED, "4", employee("4", 8000)),
+                new EmployeeChange(9, EmployeeChange.Type.DELETED, "1", null),
+                new EmployeeChange(10, EmployeeChange.Type.DELETED, "4", null))));
+
+        assertEquals(List.of("2", "3"), ids(changed.getEmployees()));
+        assertEquals(new ChangeFeedPosition(42, 10), changed.getPosition());
+        assertTrue(changed.getVersion() > patched.getVersion());
+        assertSame(changed, changed.applying(new EmployeeChanges(42, 10, false, List.of())));
+        assertEquals(changed.getVersion(), changed.applying(new EmployeeChanges(42, 11, false, List.of())).getVersion());
+    }
+
+    @Test
+    public void testPatchedNameSearchMatchesRebuiltIndex() {
+        String[] names = {"Ada Lovelace", "Alan Turing", "Grace Hopper", "Linus Torvalds", "Ada King", null};
+        Random random = new Random(7);
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            roster.add(new Employee(String.valueOf(i), names[random.nextInt(names.length)], 5000, 30, "Developer", null));
+        }
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(roster);
+        snapshot.getNameSearchIndex();
+
+        for (int step = 0; step < 200; step++) {
+            String id = String.valueOf(random.nextInt(700));
+            snapshot = random.nextBoolean()
+                    ? snapshot.without(id)
+                    : snapshot.with(new Employee(id, names[random.nextInt(names.length)], 5000, 30, "Developer", null));
+            NameSearchIndex rebuilt = NameSearchIndex.of(snapshot.getEmployees());
+            for (String fragment : new String[]{"ada", "a", "ing", "torv", "zzz"}) {
+                assertEquals(ids(rebuilt.search(fragment, 0, Integer.MAX_VALUE)),
+                        ids(snapshot.getNameSearchIndex().search(fragment, 0, Integer.MAX_VALUE)));
+                assertEquals(ids(rebuilt.search(fragment, 3, 5)), ids(snapshot.getNameSearchIndex().search(fragment, 3, 5)));
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.properties.UpstreamProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveRateLimiterTest {
+
+    private static final long MAX_WAIT = Duration.ofMinutes(5).toNanos();
+
+    private final AtomicLong clock = new AtomicLong(Duration.ofHours(1).toNanos());
+    private final AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(settings(), clock::get);
+
+    private static UpstreamProperties.RateLimit settings() {
+        UpstreamProperties.RateLimit settings = new UpstreamProperties.RateLimit();
+        settings.setInitialRate(2);
+        settings.setBurst(3);
+        settings.setInitialBackoff(Duration.ofSeconds(1));
+        return settings;
+    }
+
+    private long reserveMillis(long maxWaitNanos) {
+        long wait = rateLimiter.tryReserve(maxWaitNanos);
+        return wait < 0 ? wait : Duration.ofNanos(wait).toMillis();
+    }
+
+    @Test
+    public void testBurstThenSpacedPermits() {
+        assertEquals(0, reserveMillis(MAX_WAIT));
+        assertEquals(0, reserveMillis(MAX_WAIT));
+        assertEquals(0, reserveMillis(MAX_WAIT));
+        assertEquals(500, reserveMillis(MAX_WAIT));
+        assertEquals(1000, reserveMillis(MAX_WAIT));
+    }
+
+    @Test
+    public void testPermitBeyondMaxWaitIsNotReserved() {
+        reserveMillis(MAX_WAIT);
+        reserveMillis(MAX_WAIT);
+        reserveMillis(MAX_WAIT);
+
+        assertEquals(-1, reserveMillis(Duration.ofMillis(100).toNanos()));
+        assertEquals(500, reserveMillis(MAX_WAIT));
+    }
+
+    @Test
+    public void testRejectionHalvesRateAndBlocks() {
+        rateLimiter.onRejected(null);
+
+        assertTrue(rateLimiter.isBlocked());
+        assertEquals(1.0, rateLimiter.getPermitsPerSecond());
+        assertEquals(1000, reserveMillis(MAX_WAIT));
+        assertEquals(2000, reserveMillis(MAX_WAIT));
+    }
+
+    @Test
+    public void testRetryAfterTakesPrecedence() {
+        rateLimiter.onRejected(Duration.ofSeconds(42));
+
+        assertEquals(42000, reserveMillis(MAX_WAIT));
+    }
+
+    @Test
+    public void testLearnsRejectionWindow() {
+        rateLimiter.onRejected(null);
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        rateLimiter.onAccepted();
+        assertFalse(rateLimiter.isBlocked());
+
+        rateLimiter.onRejected(null);
+
+        assertEquals(30000, reserveMillis(MAX_WAIT));
+    }
+
+    @Test
+    public void testParseRetryAfter() {
+        assertEquals(Duration.ofSeconds(12), AdaptiveRateLimiter.parseRetryAfter("12"));
+        assertEquals(Duration.ZERO, AdaptiveRateLimiter.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+        assertNull(AdaptiveRateLimiter.parseRetryAfter("soon"));
+        assertNull(AdaptiveRateLimiter.parseRetryAfter(null));
+    }
+}
@@ -0,0 +1,149 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeIdIndex;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.properties.UrlProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeApiClientTest {
+
+    private static final String EMPLOYEE_URL = "http://localhost:8112/api/v1/employee";
+
+    @Spy
+    private RestTemplate restTemplate = new RestTemplate();
+
+    @Spy
+    private UrlProperties properties = new UrlProperties();
+
+    @Spy
+    private ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Mock
+    private EmployeeIdIndex employeeIdIndex;
+
+    @InjectMocks
+    private EmployeeApiClient employeeApiClient;
+
+    private MockRestServiceServer server;
+
+    private static String roster(String... names) {
+        StringBuilder json = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < names.length; i++) {
+            json.append(i > 0 ? "," : "")
+                    .append("{\"id\":\"").append(i + 1).append("\",\"employee_name\":\"").append(names[i])
+                    .append("\",\"employee_salary\":5000,\"employee_age\":30}");
+        }
+        return json.append("],\"status\":\"Successfully processed request.\"}").toString();
+    }
+
+    private static HttpHeaders eTag(String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        return headers;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        properties.setEmployee(EMPLOYEE_URL);
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    public void testUnchangedRosterIsReusedOnNotModified() {
+        server.expect(requestTo(EMPLOYEE_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(roster("Ada", "Bob"), MediaType.APPLICATION_JSON).headers(eTag("\"1-7\"")));
+        server.expect(requestTo(EMPLOYEE_URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1-7\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(eTag("\"1-7\"")));
+        server.expect(requestTo(EMPLOYEE_URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1-7\""))
+                .andRespond(withSuccess(roster("Ada"), MediaType.APPLICATION_JSON).headers(eTag("\"1-8\"")));
+
+        List<Employee> first = employeeApiClient.getAllEmployees();
+        List<Employee> unchanged = employeeApiClient.getAllEmployees();
+        List<Employee> changed = employeeApiClient.getAllEmployees();
+
+        server.verify();
+        assertEquals(List.of("Ada", "Bob"), first.stream().map(Employee::getName).toList());
+        assertSame(first, unchanged);
+        assertNotSame(first, changed);
+        assertEquals(1, changed.size());
+        verify(employeeIdIndex, times(2)).replaceAll(anyList());
+    }
+
+    @Test
+    public void testRosterWithoutETagIsNotConditional() {
+        server.expect(ExpectedCount.twice(), requestTo(EMPLOYEE_URL))
+                .andExpect(request -> assertFalse(request.getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)))
+                .andRespond(withSuccess(roster("Ada"), MediaType.APPLICATION_JSON));
+
+        employeeApiClient.getAllEmployees();
+        employeeApiClient.getAllEmployees();
+
+        server.verify();
+    }
+
+    @Test
+    public void testStreamedRosterSkipsEverythingButEmployees() {
+        server.expect(requestTo(EMPLOYEE_URL))
+                .andRespond(withSuccess("{\"status\":\"Successfully processed request.\",\"meta\":{\"data\":[1]},"
+                        + "\"data\":[{\"id\":\"1\",\"employee_name\":\"Ada\",\"extra\":{\"a\":[1,2]}},null,7,"
+                        + "{\"id\":\"2\",\"employee_name\":\"Bob\"}],\"error\":null}", MediaType.APPLICATION_JSON));
+
+        List<Employee> streamed = new ArrayList<>();
+        employeeApiClient.streamAllEmployees(streamed::add);
+
+        server.verify();
+        assertEquals(List.of("Ada", "Bob"), streamed.stream().map(Employee::getName).toList());
+        verify(employeeIdIndex, times(2)).put(any());
+    }
+
+    @Test
+    public void testStreamStopsParsingWhenTheConsumerIsDone() {
+        // Anything parsed past the second employee would fail on the truncated body.
+        server.expect(requestTo(EMPLOYEE_URL))
+                .andRespond(withSuccess(roster("Ada", "Bob", "Cy").replace(",{\"id\":\"3\"", ",{\"id\":"), MediaType.APPLICATION_JSON));
+
+        List<Employee> streamed = new ArrayList<>();
+        employeeApiClient.streamEmployeesWhile(employee -> {
+            streamed.add(employee);
+            return streamed.size() < 2;
+        });
+
+        assertEquals(List.of("Ada", "Bob"), streamed.stream().map(Employee::getName).toList());
+    }
+}
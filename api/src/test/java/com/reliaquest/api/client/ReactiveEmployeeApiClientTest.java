@@ -0,0 +1,77 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.properties.UrlProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ReactiveEmployeeApiClientTest {
+
+    private final Deque<ClientResponse> responses = new ArrayDeque<>();
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    private final ReactiveEmployeeApiClient employeeApiClient = new ReactiveEmployeeApiClient();
+
+    private static ClientResponse roster(String eTag, String... names) {
+        StringBuilder json = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < names.length; i++) {
+            json.append(i > 0 ? "," : "").append("{\"id\":\"").append(i + 1).append("\",\"employee_name\":\"").append(names[i]).append("\"}");
+        }
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, eTag)
+                .body(json.append("]}").toString())
+                .build();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        UrlProperties properties = new UrlProperties();
+        properties.setEmployee("http://localhost:8112/api/v1/employee");
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(responses.poll());
+                })
+                .build();
+        ReflectionTestUtils.setField(employeeApiClient, "upstreamWebClient", webClient);
+        ReflectionTestUtils.setField(employeeApiClient, "properties", properties);
+    }
+
+    @Test
+    public void testUnchangedRosterIsReusedOnNotModified() {
+        responses.add(roster("\"1-7\"", "Ada", "Bob"));
+        responses.add(ClientResponse.create(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"1-7\"").build());
+        responses.add(roster("\"1-8\"", "Ada"));
+
+        List<Employee> first = employeeApiClient.getAllEmployees().block();
+        List<Employee> unchanged = employeeApiClient.getAllEmployees().block();
+        List<Employee> changed = employeeApiClient.getAllEmployees().block();
+
+        assertNull(requests.get(0).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("\"1-7\"", requests.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("\"1-7\"", requests.get(2).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertSame(first, unchanged);
+        assertNotSame(first, changed);
+        assertEquals(List.of("Ada"), changed.stream().map(Employee::getName).toList());
+    }
+}
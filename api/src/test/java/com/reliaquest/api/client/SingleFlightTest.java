@@ -0,0 +1,70 @@
+package com.reliaquest.api.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+    @Test
+    public void testConcurrentCallersShareOneCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("all", () -> {
+                    calls.incrementAndGet();
+                    awaitQuietly(release);
+                    return 42;
+                })));
+            }
+            // Give every caller the chance to join the in-flight call before letting it complete.
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testCompletedCallIsNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals(1, singleFlight.execute("all", calls::incrementAndGet));
+        assertEquals(2, singleFlight.execute("all", calls::incrementAndGet));
+    }
+
+    @Test
+    public void testFailureIsRethrownAndForgotten() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("all", () -> {
+            throw new IllegalStateException("upstream down");
+        }));
+        assertEquals(1, singleFlight.execute("all", () -> 1));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
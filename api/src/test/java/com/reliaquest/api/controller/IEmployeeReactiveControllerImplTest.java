@@ -0,0 +1,122 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exceptionhandler.ApiException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.services.IEmployeeReactiveService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.RequestMapping;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "service.mode=reactive")
+@AutoConfigureMockMvc
+public class IEmployeeReactiveControllerImplTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IEmployeeReactiveService employeeService;
+
+    @Test
+    public void testEveryRouteOfTheControllerContractIsServed() throws Exception {
+        for (Method route : IEmployeeController.class.getMethods()) {
+            Class<?>[] parameterTypes = new Class<?>[route.getParameterCount()];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                parameterTypes[i] = ResolvableType.forMethodParameter(route, i, IEmployeeControllerImpl.class).resolve();
+            }
+            Method served = IEmployeeReactiveControllerImpl.class.getMethod(route.getName(), parameterTypes);
+            RequestMapping expected = AnnotatedElementUtils.findMergedAnnotation(route, RequestMapping.class);
+            RequestMapping actual = AnnotatedElementUtils.findMergedAnnotation(served, RequestMapping.class);
+
+            assertEquals(Mono.class, served.getReturnType(), route.getName());
+            assertArrayEquals(expected.path(), actual.path(), route.getName());
+            assertArrayEquals(expected.method(), actual.method(), route.getName());
+        }
+    }
+
+    @Test
+    public void testRequestThreadIsReleasedUntilTheUpstreamAnswers() throws Exception {
+        Sinks.One<Employee> upstream = Sinks.one();
+        when(employeeService.getEmployeeById("1")).thenReturn(upstream.asMono());
+
+        MvcResult result = mockMvc.perform(get("/employees/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        upstream.tryEmitValue(new Employee("1", "John Doe", 5000, 30, "Developer", "john.doe@example.com"));
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is("1")))
+                .andExpect(jsonPath("$.employee_name", is("John Doe")));
+    }
+
+    @Test
+    public void testGetAllEmployeesAnswersMatchingETagWithNotModified() throws Exception {
+        when(employeeService.getAllEmployeesETag()).thenReturn(Optional.of("\"1a2b-7\""));
+        when(employeeService.getAllEmployees()).thenReturn(Mono.just(List.of(
+                new Employee("1", "John Doe", 5000, 30, "Developer", "john.doe@example.com"))));
+
+        MvcResult result = mockMvc.perform(get("/employees")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1a2b-7\""))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        result = mockMvc.perform(get("/employees")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1a2b-7\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void testFailedPipelineIsMappedByTheExceptionHandler() throws Exception {
+        when(employeeService.deleteEmployeeById("missing"))
+                .thenReturn(Mono.error(new ApiException(HttpStatus.NOT_FOUND, "Employee not found")));
+
+        MvcResult result = mockMvc.perform(delete("/employees/missing"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status", is("FAILED")));
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class NameSearchIndexTest {
+
+    private final NameSearchIndex index = NameSearchIndex.of(List.of(
+            employee("1", "John Doe"),
+            employee("2", "Johny Doe"),
+            employee("3", "Jane Smith"),
+            employee("4", null),
+            employee("5", "Ann Johnson")));
+
+    private static Employee employee(String id, String name) {
+        return new Employee(id, name, 5000, 30, "Developer", id + "@company.com");
+    }
+
+    private List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+
+    @Test
+    public void testSearchIsCaseInsensitiveContains() {
+        assertEquals(List.of("1", "2", "5"), ids(index.search("JOHN", 0, Integer.MAX_VALUE)));
+        assertEquals(List.of("1"), ids(index.search("n doe", 0, Integer.MAX_VALUE)));
+        assertEquals(List.of("1", "2"), ids(index.search("DOE", 0, Integer.MAX_VALUE)));
+        assertEquals(List.of(), ids(index.search("johnny", 0, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void testShortFragmentsFallBackToScan() {
+        assertEquals(List.of("3", "5"), ids(index.search("an", 0, Integer.MAX_VALUE)));
+        assertEquals(List.of("1", "2", "3", "5"), ids(index.search("", 0, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void testSearchPagination() {
+        assertEquals(List.of("2"), ids(index.search("john", 1, 1)));
+        assertEquals(List.of("2", "5"), ids(index.search("john", 1, 10)));
+        assertEquals(List.of(), ids(index.search("john", 3, 10)));
+    }
+
+    @Test
+    public void testPatchedIndexKeepsRosterOrder() {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            roster.add(employee(String.valueOf(i), "Filler " + i));
+        }
+        roster.set(10, employee("10", "John Doe"));
+        roster.set(20, employee("20", "Jane Doe"));
+        roster.set(30, employee("30", "Ann Johnson"));
+        NameSearchIndex original = NameSearchIndex.of(roster);
+
+        NameSearchIndex patched = original
+                .patched(Set.of("10"), List.of())
+                .patched(List.of(), List.of(employee("20", "Johanna Doe"), employee("100", "John Smith"), employee("101", null)));
+
+        assertNotNull(patched);
+        assertEquals(List.of("20", "30", "100"), ids(patched.search("joh", 0, Integer.MAX_VALUE)));
+        assertEquals(List.of("20"), ids(patched.search("doe", 0, Integer.MAX_VALUE)));
+        assertEquals(List.of("30", "100"), ids(patched.search("jo", 1, 2)));
+        assertEquals(List.of("10", "20"), ids(original.search("doe", 0, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void testHeavilyPatchedIndexAsksForRebuild() {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            roster.add(employee(String.valueOf(i), "Filler " + i));
+        }
+        NameSearchIndex patched = NameSearchIndex.of(roster).patched(Set.of("0", "1"), List.of());
+
+        assertNotNull(patched);
+        assertNull(patched.patched(Set.of("2"), List.of()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SalaryIndexTest {
+
+    private static Employee employee(String id, Integer salary) {
+        return new Employee(id, "Employee " + id, salary, 30, "Developer", id + "@company.com");
+    }
+
+    @Test
+    public void testHighestSalaryAndTopEarners() {
+        SalaryIndex index = SalaryIndex.of(List.of(
+                employee("1", 5000), employee("2", 9000), employee("3", 7000), employee("4", null)));
+
+        assertEquals(3, index.size());
+        assertEquals(9000, index.getHighestSalary());
+        assertEquals(List.of("2", "3"), index.getTopEarners(2).stream().map(Employee::getId).toList());
+        assertEquals(3, index.getTopEarners(10).size());
+    }
+
+    @Test
+    public void testEmptyIndex() {
+        assertEquals(0, SalaryIndex.empty().getHighestSalary());
+        assertEquals(List.of(), SalaryIndex.empty().getTopEarners(10));
+    }
+
+    @Test
+    public void testEqualSalariesKeepInsertionOrder() {
+        SalaryIndex index = SalaryIndex.of(List.of(employee("1", 5000), employee("2", 5000)))
+                .with(employee("3", 5000));
+
+        assertEquals(List.of("1", "2", "3"), index.getTopEarners(3).stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    public void testIncrementalUpdatesMatchRebuild() {
+        Employee removed = employee("2", 9000);
+        SalaryIndex index = SalaryIndex.of(List.of(employee("1", 5000), removed, employee("3", 7000)))
+                .with(employee("4", 8000))
+                .with(employee("5", 1000))
+                .without(removed);
+
+        assertEquals(8000, index.getHighestSalary());
+        assertEquals(List.of("4", "3", "1", "5"), index.getTopEarners(10).stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    public void testWithoutUnknownEmployeeIsNoOp() {
+        SalaryIndex index = SalaryIndex.of(List.of(employee("1", 5000)));
+
+        assertSame(index, index.without(employee("2", 5000)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TopEarnersTest {
+
+    private static Employee employee(String id, Integer salary) {
+        return new Employee(id, "Employee " + id, salary, 30, "Developer", id + "@company.com");
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+
+    @Test
+    public void testTopEarnersAndHighestSalary() {
+        List<Employee> roster = List.of(
+                employee("1", 5000), employee("2", 9000), employee("3", null), employee("4", 7000), employee("5", -10));
+
+        assertEquals(List.of("2", "4"), ids(TopEarners.of(roster, 2)));
+        assertEquals(List.of("2", "4", "1", "5"), ids(TopEarners.of(roster, 10)));
+        assertEquals(9000, TopEarners.highestSalary(roster));
+        assertEquals(0, TopEarners.highestSalary(List.of(employee("1", null))));
+    }
+
+    @Test
+    public void testEqualSalariesKeepRosterOrder() {
+        List<Employee> roster = List.of(
+                employee("1", 5000), employee("2", 6000), employee("3", 5000), employee("4", 5000));
+
+        assertEquals(List.of("2", "1", "3"), ids(TopEarners.of(roster, 3)));
+    }
+
+    @Test
+    public void testParallelSelectionMatchesSalaryIndex() {
+        Random random = new Random(42);
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < TopEarners.PARALLEL_THRESHOLD * 3 + 17; i++) {
+            // Few distinct salaries, so most of the top earners are decided by roster order.
+            roster.add(employee(String.valueOf(i), random.nextInt(500)));
+        }
+
+        for (int count : new int[]{1, 10, 2000}) {
+            assertEquals(ids(SalaryIndex.of(roster).getTopEarners(count)), ids(TopEarners.of(roster, count)));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.api.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ApiMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ApiMetrics metrics = new ApiMetrics(registry, "http://localhost:8112/api/v1/employee");
+
+    @Test
+    public void testUpstreamOperationsKeepIdsOutOfTags() {
+        assertEquals("getAll", metrics.upstreamOperation(HttpMethod.GET, "/api/v1/employee"));
+        assertEquals("create", metrics.upstreamOperation(HttpMethod.POST, "/api/v1/employee"));
+        assertEquals("deleteByName", metrics.upstreamOperation(HttpMethod.DELETE, "/api/v1/employee"));
+        assertEquals("getById", metrics.upstreamOperation(HttpMethod.GET, "/api/v1/employee/4a3a170b-22cd-4ac2-aad1-9bb5b34a1507"));
+        assertEquals("deleteById", metrics.upstreamOperation(HttpMethod.DELETE, "/api/v1/employee/4a3a170b-22cd-4ac2-aad1-9bb5b34a1507"));
+        assertEquals("createBatch", metrics.upstreamOperation(HttpMethod.POST, "/api/v1/employee/batch"));
+        assertEquals("deleteBatch", metrics.upstreamOperation(HttpMethod.DELETE, "/api/v1/employee/batch"));
+        assertEquals("salaryStatistics", metrics.upstreamOperation(HttpMethod.GET, "/api/v1/employee/stats/salary"));
+        assertEquals("topEarners", metrics.upstreamOperation(HttpMethod.GET, "/api/v1/employee/stats/topEarners"));
+        assertEquals("changes", metrics.upstreamOperation(HttpMethod.GET, "/api/v1/employee/changes"));
+        assertEquals("other", metrics.upstreamOperation(HttpMethod.GET, "/api/v2/employee"));
+    }
+
+    @Test
+    public void testUpstreamCallsAreTimedByOperationAndStatus() {
+        URI byId = URI.create("http://localhost:8112/api/v1/employee/4a3a170b-22cd-4ac2-aad1-9bb5b34a1507");
+        metrics.upstreamCall(HttpMethod.GET, byId, "200", TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.upstreamCall(HttpMethod.GET, byId, "429", TimeUnit.MILLISECONDS.toNanos(1));
+        metrics.upstreamCall(HttpMethod.GET, byId, "200", TimeUnit.MILLISECONDS.toNanos(7));
+
+        assertEquals(2, registry.get(ApiMetrics.UPSTREAM_REQUESTS).tags("operation", "getById", "status", "200").timer().count());
+        assertEquals(12, registry.get(ApiMetrics.UPSTREAM_REQUESTS).tags("operation", "getById", "status", "200").timer()
+                .totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, registry.get(ApiMetrics.UPSTREAM_REQUESTS).tags("status", "429").timer().count());
+    }
+
+    @Test
+    public void testCacheLookupsAndRateLimitedRequestsAreCounted() {
+        metrics.cacheLookup("snapshot", true);
+        metrics.cacheLookup("snapshot", true);
+        metrics.cacheLookup("snapshot", false);
+        metrics.rateLimited("upstream");
+
+        assertEquals(2, registry.get(ApiMetrics.CACHE_LOOKUPS).tags("cache", "snapshot", "result", "hit").counter().count());
+        assertEquals(1, registry.get(ApiMetrics.CACHE_LOOKUPS).tags("cache", "snapshot", "result", "miss").counter().count());
+        assertEquals(1, registry.get(ApiMetrics.RATE_LIMITED).tags("source", "upstream").counter().count());
+    }
+}
@@ -0,0 +1,215 @@
+package com.reliaquest.api.services.impl;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.ReactiveEmployeeApiClient;
+import com.reliaquest.api.exceptionhandler.ApiException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.BatchItemStatus;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeRequest;
+import com.reliaquest.api.model.SalaryStatistics;
+import com.reliaquest.api.properties.UpstreamProperties;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class IEmployeeReactiveServiceImplTest {
+
+    @Mock
+    private ReactiveEmployeeApiClient employeeApiClient;
+
+    @Mock
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    @Mock
+    private Validator validator;
+
+    @Spy
+    private UpstreamProperties upstreamProperties = new UpstreamProperties();
+
+    @InjectMocks
+    private IEmployeeReactiveServiceImpl employeeService;
+
+    private static Employee employee(String id, String name) {
+        return new Employee(id, name, 5000, 30, "Developer", id + "@company.com");
+    }
+
+    private static EmployeeRequest request(String name) {
+        return new EmployeeRequest(name, 5000, 30, "Developer");
+    }
+
+    private static List<BatchItemStatus> statuses(List<? extends BatchItemResult<?>> results) {
+        return results.stream().<BatchItemStatus>map(BatchItemResult::getStatus).toList();
+    }
+
+    @Test
+    public void testSalaryAggregatesComeFromTheUpstream() {
+        when(employeeApiClient.getAllEmployees()).thenReturn(Mono.error(new IllegalStateException("roster read")));
+        when(employeeApiClient.getSalaryStatistics()).thenReturn(Mono.just(new SalaryStatistics(2, 5000, 9000, 7000.0)));
+        when(employeeApiClient.getTopEarners(2)).thenReturn(Mono.just(List.of(employee("2", "Bob"), employee("1", "Ada"))));
+
+        assertEquals(9000, employeeService.getHighestSalaryOfEmployees().block());
+        assertEquals(List.of("Bob", "Ada"), employeeService.getTopHighestEarningEmployeeNames(2).block());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {404, 405})
+    public void testUpstreamWithoutAggregatesIsReadWhole(int status) {
+        when(employeeApiClient.getAllEmployees()).thenReturn(Mono.just(List.of(
+                new Employee("1", "Ada", 5000, 30, "Developer", null), new Employee("2", "Bob", 9000, 30, "Developer", null))));
+        when(employeeApiClient.getSalaryStatistics())
+                .thenReturn(Mono.error(HttpClientErrorException.create(HttpStatus.valueOf(status), "", null, null, null)));
+
+        assertEquals(9000, employeeService.getHighestSalaryOfEmployees().block());
+        assertEquals(List.of("Bob"), employeeService.getTopHighestEarningEmployeeNames(1).block());
+        verify(employeeApiClient, never()).getTopEarners(anyInt());
+    }
+
+    @Test
+    public void testOtherAggregateFailuresAreNotSwallowed() {
+        when(employeeApiClient.getAllEmployees()).thenReturn(Mono.just(List.of()));
+        when(employeeApiClient.getSalaryStatistics())
+                .thenReturn(Mono.error(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "", null, null, null)));
+
+        assertThrows(HttpServerErrorException.class, () -> employeeService.getHighestSalaryOfEmployees().block());
+    }
+
+    @Test
+    public void testDeleteEmployeeByIdFallsBackToNameWithoutDeleteById() {
+        when(employeeApiClient.deleteEmployeeById("1"))
+                .thenReturn(Mono.error(HttpClientErrorException.create(HttpStatus.METHOD_NOT_ALLOWED, "", null, null, null)));
+        when(employeeApiClient.getEmployeeById("1")).thenReturn(Mono.just(employee("1", "Ada")));
+        when(employeeApiClient.getEmployeeById("2")).thenReturn(Mono.just(employee("2", "Bob")));
+        when(employeeApiClient.deleteEmployeeByName("Ada")).thenReturn(Mono.just(true));
+        when(employeeApiClient.deleteEmployeeByName("Bob")).thenReturn(Mono.just(true));
+
+        assertEquals("Ada", employeeService.deleteEmployeeById("1").block());
+        assertEquals("Bob", employeeService.deleteEmployeeById("2").block());
+
+        verify(employeeApiClient, times(1)).deleteEmployeeById(anyString());
+    }
+
+    @Test
+    public void testCreateEmployeesReportsEveryItemInInputOrder() {
+        upstreamProperties.getBatch().setSize(2);
+        when(employeeApiClient.createEmployees(List.of(request("Ada"), request("Bob"))))
+                .thenReturn(Mono.just(List.of(employee("1", "Ada"), employee("2", "Bob"))));
+        when(employeeApiClient.createEmployees(List.of(request("Cy"))))
+                .thenReturn(Mono.error(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "", null, null, null)));
+
+        List<BatchItemResult<Employee>> results =
+                employeeService.createEmployees(Arrays.asList(request("Ada"), null, request("Bob"), request("Cy"))).block();
+
+        assertEquals(List.of(BatchItemStatus.CREATED, BatchItemStatus.INVALID, BatchItemStatus.CREATED, BatchItemStatus.FAILED),
+                statuses(results));
+        assertEquals("2", results.get(2).getData().getId());
+    }
+
+    @Test
+    public void testDeleteEmployeesByIdDeletesEveryDistinctIdOnce() {
+        when(employeeApiClient.deleteEmployeeById("1")).thenReturn(Mono.just(employee("1", "Ada")));
+        when(employeeApiClient.deleteEmployeeById("2"))
+                .thenReturn(Mono.error(new ApiException(HttpStatus.NOT_FOUND, "Employee with 2 not found.")));
+
+        List<BatchItemResult<String>> results = employeeService.deleteEmployeesById(List.of("1", "2", "1", "")).block();
+
+        assertEquals(List.of(BatchItemStatus.DELETED, BatchItemStatus.NOT_FOUND, BatchItemStatus.DELETED,
+                BatchItemStatus.INVALID), statuses(results));
+        assertEquals("Ada", results.get(2).getData());
+        verify(employeeApiClient, times(1)).deleteEmployeeById("1");
+        verify(employeeApiClient, never()).deleteEmployeesByName(anyList());
+    }
+
+    @Test
+    public void testDeleteEmployeesByIdFallsBackToNamesWithoutDeleteById() {
+        when(employeeApiClient.deleteEmployeeById(anyString()))
+                .thenReturn(Mono.error(HttpClientErrorException.create(HttpStatus.METHOD_NOT_ALLOWED, "", null, null, null)));
+        when(employeeApiClient.getAllEmployees()).thenReturn(Mono.just(List.of(employee("1", "Ada"))));
+        when(employeeApiClient.deleteEmployeesByName(List.of("Ada"))).thenReturn(Mono.just(List.of(true)));
+
+        List<BatchItemResult<String>> results = employeeService.deleteEmployeesById(List.of("1", "2")).block();
+
+        assertEquals(List.of(BatchItemStatus.DELETED, BatchItemStatus.NOT_FOUND), statuses(results));
+        assertEquals("Ada", results.get(0).getData());
+
+        employeeService.deleteEmployeesById(List.of("2")).block();
+        verify(employeeApiClient, times(2)).deleteEmployeeById(anyString());
+    }
+
+    @Test
+    public void testReadsAreServedFromTheSnapshotWithoutTheUpstream() {
+        when(employeeSnapshotCache.peek()).thenReturn(Optional.of(EmployeeSnapshot.of(List.of(
+                new Employee("1", "Ada Lovelace", 5000, 30, "Developer", null),
+                new Employee("2", "Bob Adams", 9000, 30, "Developer", null)))));
+
+        assertEquals(2, employeeService.getAllEmployees().block().size());
+        assertEquals("Bob Adams", employeeService.getEmployeeById("2").block().getName());
+        assertEquals(List.of("2"), employeeService.getEmployeesByNameSearch("adam").block().stream().map(Employee::getId).toList());
+        assertEquals(9000, employeeService.getHighestSalaryOfEmployees().block());
+        assertEquals(List.of("Bob Adams"), employeeService.getTopHighestEarningEmployeeNames(1).block());
+        verifyNoInteractions(employeeApiClient);
+    }
+
+    @Test
+    public void testWritesArePatchedIntoTheSnapshot() {
+        when(employeeApiClient.createEmployee(request("Ada"))).thenReturn(Mono.just(employee("1", "Ada")));
+        when(employeeApiClient.deleteEmployeeById("1")).thenReturn(Mono.just(employee("1", "Ada")));
+
+        employeeService.createEmployee(request("Ada")).block();
+        employeeService.deleteEmployeeById("1").block();
+
+        verify(employeeSnapshotCache, times(2)).patch(any());
+    }
+
+    @Test
+    public void testNoCallBlocksOnTheUpstream() {
+        Sinks.One<Employee> upstream = Sinks.one();
+        when(employeeApiClient.deleteEmployeeById("1")).thenReturn(upstream.asMono());
+
+        CompletableFuture<String> deleted = employeeService.deleteEmployeeById("1").toFuture();
+
+        assertFalse(deleted.isDone());
+        upstream.tryEmitValue(employee("1", "Ada"));
+        assertEquals("Ada", deleted.join());
+    }
+
+    @Test
+    public void testInvalidArgumentsFailTheMonoInsteadOfThrowing() {
+        Mono<List<String>> topEarners = employeeService.getTopHighestEarningEmployeeNames(0);
+
+        ApiException e = assertThrows(ApiException.class, topEarners::block);
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+        assertThrows(ApiException.class, () -> employeeService.deleteEmployeesById(List.of()).block());
+    }
+}
@@ -0,0 +1,233 @@
+package com.reliaquest.api.services.impl;
+
+import com.reliaquest.api.cache.EmployeeIdIndex;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.exceptionhandler.ApiException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.BatchItemStatus;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeRequest;
+import com.reliaquest.api.model.SalaryStatistics;
+import com.reliaquest.api.properties.UpstreamProperties;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class IEmployeeServiceImplTest {
+
+    @Mock
+    private EmployeeApiClient employeeApiClient;
+
+    @Mock
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    @Mock
+    private EmployeeIdIndex employeeIdIndex;
+
+    @Mock
+    private Validator validator;
+
+    @Spy
+    private UpstreamProperties upstreamProperties = new UpstreamProperties();
+
+    @Spy
+    private Executor taskExecutor = new SyncTaskExecutor();
+
+    @InjectMocks
+    private IEmployeeServiceImpl employeeService;
+
+    private static Employee employee(String id, String name) {
+        return new Employee(id, name, 5000, 30, "Developer", id + "@company.com");
+    }
+
+    private static EmployeeRequest request(String name) {
+        return new EmployeeRequest(name, 5000, 30, "Developer");
+    }
+
+    private static List<BatchItemStatus> statuses(List<? extends BatchItemResult<?>> results) {
+        return results.stream().<BatchItemStatus>map(BatchItemResult::getStatus).toList();
+    }
+
+    @Test
+    public void testStreamedNameSearchStopsOnceThePageIsFull() {
+        List<Employee> roster = List.of(employee("1", "Ada"), employee("2", "Adam"), employee("3", "Bob"),
+                employee("4", "Adele"), employee("5", "Adrian"));
+        List<Employee> offered = new ArrayList<>();
+        doAnswer(invocation -> {
+            Predicate<Employee> consumer = invocation.getArgument(0);
+            for (Employee employee : roster) {
+                offered.add(employee);
+                if (!consumer.test(employee)) {
+                    break;
+                }
+            }
+            return null;
+        }).when(employeeApiClient).streamEmployeesWhile(any());
+
+        List<Employee> page = employeeService.getEmployeesByNameSearch("AD", 1, 2);
+
+        assertEquals(List.of("2", "4"), page.stream().map(Employee::getId).toList());
+        assertEquals(4, offered.size());
+    }
+
+    @Test
+    public void testSalaryAggregatesComeFromTheUpstream() {
+        when(employeeApiClient.getSalaryStatistics()).thenReturn(new SalaryStatistics(2, 5000, 9000, 7000.0));
+        when(employeeApiClient.getTopEarners(2)).thenReturn(List.of(employee("2", "Bob"), employee("1", "Ada")));
+
+        assertEquals(9000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Bob", "Ada"), employeeService.getTopHighestEarningEmployeeNames(2));
+        verify(employeeApiClient, never()).streamAllEmployees(any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {404, 405})
+    public void testUpstreamWithoutAggregatesIsReadWhole(int status) {
+        when(employeeApiClient.getSalaryStatistics())
+                .thenThrow(HttpClientErrorException.create(HttpStatus.valueOf(status), "", null, null, null));
+        doAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            consumer.accept(new Employee("1", "Ada", 5000, 30, "Developer", null));
+            consumer.accept(new Employee("2", "Bob", 9000, 30, "Developer", null));
+            return null;
+        }).when(employeeApiClient).streamAllEmployees(any());
+
+        assertEquals(9000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Bob"), employeeService.getTopHighestEarningEmployeeNames(1));
+        verify(employeeApiClient, never()).getTopEarners(anyInt());
+        verify(employeeApiClient, times(2)).streamAllEmployees(any());
+    }
+
+    @Test
+    public void testOtherAggregateFailuresAreNotSwallowed() {
+        when(employeeApiClient.getSalaryStatistics())
+                .thenThrow(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "", null, null, null));
+
+        assertThrows(HttpServerErrorException.class, () -> employeeService.getHighestSalaryOfEmployees());
+        verify(employeeApiClient, never()).streamAllEmployees(any());
+    }
+
+    @Test
+    public void testDeleteEmployeeByIdDeletesInOneCall() {
+        when(employeeApiClient.deleteEmployeeById("1")).thenReturn(employee("1", "Ada"));
+
+        assertEquals("Ada", employeeService.deleteEmployeeById("1"));
+        verify(employeeApiClient, never()).deleteEmployeeByName(anyString());
+        verify(employeeSnapshotCache, times(1)).patch(any());
+    }
+
+    @Test
+    public void testDeleteEmployeeByIdReportsUnknownId() {
+        when(employeeApiClient.deleteEmployeeById("1")).thenThrow(new ApiException(HttpStatus.NOT_FOUND, "Employee with 1 not found."));
+
+        ApiException e = assertThrows(ApiException.class, () -> employeeService.deleteEmployeeById("1"));
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatus());
+        verify(employeeApiClient, never()).deleteEmployeeByName(anyString());
+    }
+
+    @Test
+    public void testDeleteEmployeeByIdFallsBackToNameWithoutDeleteById() {
+        when(employeeApiClient.deleteEmployeeById("1"))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.METHOD_NOT_ALLOWED, "", null, null, null));
+        when(employeeIdIndex.findName("1")).thenReturn(Optional.of("Ada"));
+        when(employeeIdIndex.findName("2")).thenReturn(Optional.of("Bob"));
+        when(employeeApiClient.deleteEmployeeByName("Ada")).thenReturn(true);
+        when(employeeApiClient.deleteEmployeeByName("Bob")).thenReturn(true);
+
+        assertEquals("Ada", employeeService.deleteEmployeeById("1"));
+        assertEquals("Bob", employeeService.deleteEmployeeById("2"));
+
+        verify(employeeApiClient, times(1)).deleteEmployeeById(anyString());
+        verify(employeeIdIndex).remove("1");
+        verify(employeeIdIndex).remove("2");
+    }
+
+    @Test
+    public void testCreateEmployeesReportsEveryItemInInputOrder() {
+        upstreamProperties.getBatch().setSize(2);
+        when(employeeApiClient.createEmployees(List.of(request("Ada"), request("Bob"))))
+                .thenReturn(List.of(employee("1", "Ada"), employee("2", "Bob")));
+        when(employeeApiClient.createEmployees(List.of(request("Cy"))))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "", null, null, null));
+
+        List<BatchItemResult<Employee>> results =
+                employeeService.createEmployees(Arrays.asList(request("Ada"), null, request("Bob"), request("Cy")));
+
+        assertEquals(List.of(BatchItemStatus.CREATED, BatchItemStatus.INVALID, BatchItemStatus.CREATED, BatchItemStatus.FAILED),
+                statuses(results));
+        assertEquals(List.of(0, 1, 2, 3), results.stream().map(BatchItemResult::getIndex).toList());
+        assertEquals("2", results.get(2).getData().getId());
+        verify(employeeSnapshotCache, times(1)).patch(any());
+    }
+
+    @Test
+    public void testDeleteEmployeesByIdDeletesEveryDistinctIdOnce() {
+        when(employeeApiClient.deleteEmployeeById("1")).thenReturn(employee("1", "Ada"));
+        when(employeeApiClient.deleteEmployeeById("2")).thenThrow(new ApiException(HttpStatus.NOT_FOUND, "Employee with 2 not found."));
+        when(employeeApiClient.deleteEmployeeById("3")).thenReturn(employee("3", "Ada"));
+
+        List<BatchItemResult<String>> results = employeeService.deleteEmployeesById(List.of("1", "2", "1", " ", "3"));
+
+        assertEquals(List.of(BatchItemStatus.DELETED, BatchItemStatus.NOT_FOUND, BatchItemStatus.DELETED,
+                BatchItemStatus.INVALID, BatchItemStatus.DELETED), statuses(results));
+        assertEquals(2, results.get(2).getIndex());
+        assertEquals("Ada", results.get(2).getData());
+        verify(employeeApiClient, times(1)).deleteEmployeeById("1");
+        verify(employeeApiClient, never()).deleteEmployeesByName(anyList());
+        verify(employeeSnapshotCache, times(1)).patch(any());
+    }
+
+    @Test
+    public void testDeleteEmployeesByIdFallsBackToNamesWithoutDeleteById() {
+        when(employeeApiClient.deleteEmployeeById(anyString()))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.METHOD_NOT_ALLOWED, "", null, null, null));
+        when(employeeIdIndex.findName("1")).thenReturn(Optional.of("Ada"));
+        when(employeeSnapshotCache.getSnapshot()).thenReturn(EmployeeSnapshot.of(List.of(employee("3", "Cy"))));
+        when(employeeApiClient.deleteEmployeesByName(List.of("Ada"))).thenReturn(List.of(true));
+
+        List<BatchItemResult<String>> results = employeeService.deleteEmployeesById(List.of("1", "2", "1"));
+
+        assertEquals(List.of(BatchItemStatus.DELETED, BatchItemStatus.NOT_FOUND, BatchItemStatus.DELETED), statuses(results));
+        assertEquals("Ada", results.get(0).getData());
+        assertNull(results.get(1).getData());
+        verify(employeeIdIndex).remove("1");
+
+        when(employeeApiClient.deleteEmployeesByName(List.of("Cy"))).thenReturn(List.of(true));
+        employeeService.deleteEmployeesById(List.of("3"));
+        verify(employeeApiClient, times(2)).deleteEmployeeById(anyString());
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.metrics.ApiMetrics;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.properties.CacheProperties;
+import com.reliaquest.api.properties.UpstreamProperties;
+import com.reliaquest.api.services.impl.IEmployeeServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Read paths of {@link IEmployeeServiceImpl} with the upstream replaced by an in-memory roster, so only the service's
+ * own work is measured: the snapshot indexes when cached, a full pass over the roster per call otherwise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int rosterSize;
+
+    @Param({"true", "false"})
+    boolean cached;
+
+    private IEmployeeServiceImpl employeeService;
+
+    @Setup
+    public void setUp() {
+        final var employeeApiClient = new RosterEmployeeApiClient(Rosters.employees(rosterSize));
+        final var cacheProperties = new CacheProperties();
+        cacheProperties.setEnabled(cached);
+        final var upstreamProperties = new UpstreamProperties();
+        upstreamProperties.setAggregates(false);
+
+        final var employeeSnapshotCache = new EmployeeSnapshotCache();
+        ReflectionTestUtils.setField(employeeSnapshotCache, "employeeApiClient", employeeApiClient);
+        ReflectionTestUtils.setField(employeeSnapshotCache, "properties", cacheProperties);
+        ReflectionTestUtils.setField(
+                employeeSnapshotCache,
+                "metrics",
+                new ApiMetrics(new SimpleMeterRegistry(), "http://localhost:8112/api/v1/employee"));
+        employeeSnapshotCache.refresh();
+
+        employeeService = new IEmployeeServiceImpl();
+        ReflectionTestUtils.setField(employeeService, "employeeApiClient", employeeApiClient);
+        ReflectionTestUtils.setField(employeeService, "employeeSnapshotCache", employeeSnapshotCache);
+        ReflectionTestUtils.setField(employeeService, "upstreamProperties", upstreamProperties);
+
+        // Builds the lazy snapshot indexes outside of the measurement.
+        employeeService.getEmployeesByNameSearch("warm-up");
+        employeeService.getHighestSalaryOfEmployees();
+    }
+
+    /*
+     * Shorter than a trigram, so even the indexed search scans every name.
+     */
+    @Benchmark
+    public List<Employee> searchShortFragment() {
+        return employeeService.getEmployeesByNameSearch("an");
+    }
+
+    @Benchmark
+    public List<Employee> searchTrigramFragment() {
+        return employeeService.getEmployeesByNameSearch("johns");
+    }
+
+    @Benchmark
+    public List<String> topTenHighestEarningEmployeeNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    @Benchmark
+    public Integer highestSalary() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    private static final class RosterEmployeeApiClient extends EmployeeApiClient {
+
+        private final List<Employee> roster;
+
+        RosterEmployeeApiClient(List<Employee> roster) {
+            this.roster = roster;
+        }
+
+        @Override
+        public List<Employee> getAllEmployees() {
+            return roster;
+        }
+
+        /*
+         * streamAllEmployees delegates here, so this serves every streamed read.
+         */
+        @Override
+        public void streamEmployeesWhile(Predicate<Employee> consumer) {
+            for (Employee employee : roster) {
+                if (!consumer.test(employee)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Jackson work on both ends of the wire: the server writing {@link MockEmployee}s through its
+ * {@code PrefixNamingStrategy}, the API reading them back as {@link Employee}s and writing its own responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonBenchmark {
+
+    private static final TypeReference<ApiResponse<List<Employee>>> EMPLOYEES_RESPONSE = new TypeReference<>() {};
+
+    @Param({"1", "100", "10000"})
+    int rosterSize;
+
+    // Configured like the ObjectMapper Spring Boot hands to both applications.
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Response<List<MockEmployee>> serverResponse;
+
+    private byte[] serverResponseJson;
+
+    private List<Employee> employees;
+
+    @Setup
+    public void setUp() throws IOException {
+        serverResponse = Response.handledWith(Rosters.mockEmployees(rosterSize));
+        serverResponseJson = objectMapper.writeValueAsBytes(serverResponse);
+        employees = objectMapper.readValue(serverResponseJson, EMPLOYEES_RESPONSE).getData();
+    }
+
+    @Benchmark
+    public byte[] serializeMockEmployees() throws IOException {
+        return objectMapper.writeValueAsBytes(serverResponse);
+    }
+
+    @Benchmark
+    public ApiResponse<List<Employee>> deserializeEmployees() throws IOException {
+        return objectMapper.readValue(serverResponseJson, EMPLOYEES_RESPONSE);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployees() throws IOException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeChangeLog;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import com.reliaquest.server.repository.MockEmployeeStore;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lookups and deletes of {@link MockEmployeeService} on rosters of growing size, in both repository layouts; every
+ * deleted employee is saved again so the roster size stays constant across iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int rosterSize;
+
+    @Param({"OBJECTS", "COLUMNAR"})
+    MockEmployeeRepository.Layout layout;
+
+    private MockEmployeeRepository mockEmployeeRepository;
+
+    private MockEmployeeService mockEmployeeService;
+
+    private MockEmployee[] mockEmployees;
+
+    private DeleteMockEmployeeInput[] deleteInputs;
+
+    @Setup
+    public void setUp() {
+        final var roster = Rosters.mockEmployees(rosterSize);
+        final var changeLog = new MockEmployeeChangeLog(10_000);
+        mockEmployeeRepository = layout.create(roster, changeLog.recording(MockEmployeeStore.NONE));
+        mockEmployeeService = new MockEmployeeService(new Faker(Locale.ROOT), mockEmployeeRepository, changeLog);
+        mockEmployees = roster.toArray(new MockEmployee[0]);
+        deleteInputs = new DeleteMockEmployeeInput[mockEmployees.length];
+        for (int i = 0; i < mockEmployees.length; i++) {
+            deleteInputs[i] = new DeleteMockEmployeeInput();
+            deleteInputs[i].setName(mockEmployees[i].getName());
+        }
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return mockEmployeeService.findById(
+                mockEmployees[ThreadLocalRandom.current().nextInt(mockEmployees.length)].getId());
+    }
+
+    /*
+     * Delete by name of a random employee, which also moves it to the end of the roster once saved again.
+     */
+    @Benchmark
+    public boolean deleteAndRestore() {
+        final int index = ThreadLocalRandom.current().nextInt(mockEmployees.length);
+        final boolean deleted = mockEmployeeService.delete(deleteInputs[index]);
+        mockEmployeeRepository.save(mockEmployees[index]);
+        return deleted;
+    }
+}
@@ -0,0 +1,56 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import com.reliaquest.server.repository.MockEmployeeStore;
+import java.lang.ref.Reference;
+import java.util.List;
+
+/**
+ * Heap retained by a roster as a plain list of {@link MockEmployee}s and in each {@link MockEmployeeRepository.Layout},
+ * measured as the heap in use after full collections. JMH measures time, not retained memory, so this runs on its own:
+ * {@code ./gradlew benchmarks:rosterHeap -ProsterSize=5000000}.
+ */
+public final class RosterHeap {
+
+    private RosterHeap() {}
+
+    public static void main(String[] args) throws InterruptedException {
+        final var rosterSize = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.printf("%-20s %12s %18s%n", "Roster of " + rosterSize, "Heap (MB)", "Bytes per employee");
+
+        final var baseline = usedHeap();
+        List<MockEmployee> roster = Rosters.mockEmployees(rosterSize);
+        print("List<MockEmployee>", usedHeap() - baseline, rosterSize);
+        Reference.reachabilityFence(roster);
+        roster = null;
+
+        for (MockEmployeeRepository.Layout layout : MockEmployeeRepository.Layout.values()) {
+            final var before = usedHeap();
+            // The list is only reachable from the repository afterwards, as with the roster loaded on startup.
+            final var repository = layout.create(Rosters.mockEmployees(rosterSize), MockEmployeeStore.NONE);
+            print(layout.name(), usedHeap() - before, rosterSize);
+            Reference.reachabilityFence(repository);
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        final var runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // Collect until the heap stops shrinking, so garbage left by the previous step is not counted.
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(100);
+            final var current = runtime.totalMemory() - runtime.freeMemory();
+            if (current >= used) {
+                return current;
+            }
+            used = current;
+        }
+        return used;
+    }
+
+    private static void print(String label, long bytes, int rosterSize) {
+        System.out.printf("%-20s %12.1f %18d%n", label, bytes / 1024.0 / 1024.0, bytes / rosterSize);
+    }
+}
@@ -0,0 +1,66 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Synthetic rosters, identical from run to run so results stay comparable.
+ */
+final class Rosters {
+
+    private static final long SEED = 42;
+
+    private static final String[] FIRST_NAMES = {
+        "Anna", "Bill", "Carla", "Dmitri", "Elena", "Farid", "Grace", "Hiro", "Ines", "John",
+        "Kofi", "Lena", "Mateo", "Nora", "Omar", "Priya", "Quinn", "Rosa", "Sven", "Tariq"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Anderson", "Brown", "Chen", "Dubois", "Evans", "Fischer", "Garcia", "Hansen", "Ito", "Johnson",
+        "Kowalski", "Lopez", "Martin", "Nguyen", "Olsen", "Patel", "Rossi", "Smith", "Tanaka", "Williams"
+    };
+
+    private static final String[] TITLES = {
+        "Developer", "Architect", "Manager", "Analyst", "Designer", "Consultant", "Engineer", "Director"
+    };
+
+    private Rosters() {}
+
+    static List<MockEmployee> mockEmployees(int size) {
+        final var random = new Random(SEED);
+        final var roster = new ArrayList<MockEmployee>(size);
+        for (int i = 0; i < size; i++) {
+            // The suffix keeps names unique so a delete by name removes exactly the chosen employee.
+            final var name = name(random) + " " + i;
+            roster.add(MockEmployee.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .name(name)
+                    .salary(30_000 + random.nextInt(470_000))
+                    .age(16 + random.nextInt(55))
+                    .title(TITLES[random.nextInt(TITLES.length)])
+                    .email("employee" + i + "@company.com")
+                    .build());
+        }
+        return roster;
+    }
+
+    static List<Employee> employees(int size) {
+        return mockEmployees(size).stream()
+                .map(mockEmployee -> new Employee(
+                        mockEmployee.getId().toString(),
+                        mockEmployee.getName(),
+                        mockEmployee.getSalary(),
+                        mockEmployee.getAge(),
+                        mockEmployee.getTitle(),
+                        mockEmployee.getEmail()))
+                .toList();
+    }
+
+    private static String name(Random random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+}
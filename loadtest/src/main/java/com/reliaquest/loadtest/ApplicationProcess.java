@@ -0,0 +1,81 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A Spring Boot application started from its boot jar in a child JVM, with its output written to a log file.
+ */
+final class ApplicationProcess {
+
+    private final String name;
+
+    private final Process process;
+
+    private final Path log;
+
+    private ApplicationProcess(String name, Process process, Path log) {
+        this.name = name;
+        this.process = process;
+        this.log = log;
+    }
+
+    static ApplicationProcess start(String name, Path jar, List<String> args, Path logDir) throws IOException {
+        Files.createDirectories(logDir);
+        final var log = logDir.resolve(name + ".log");
+        final var command = new ArrayList<String>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(args);
+        final var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        final var started = new ApplicationProcess(name, process, log);
+        Runtime.getRuntime().addShutdownHook(new Thread(process::destroy));
+        System.out.printf("Started %s (pid %d), logging to %s%n", name, process.pid(), log);
+        return started;
+    }
+
+    /**
+     * Polls the given URI until the application answers anything but a server error.
+     */
+    void awaitReady(HttpClient client, URI probe, Duration timeout) throws InterruptedException {
+        final var deadline = System.nanoTime() + timeout.toNanos();
+        final var request =
+                HttpRequest.newBuilder(probe).timeout(Duration.ofSeconds(5)).GET().build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(
+                        name + " exited with status " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500) {
+                    System.out.printf("%s is ready%n", name);
+                    return;
+                }
+            } catch (IOException notListeningYet) {
+                // Keep polling until the deadline.
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException(name + " not ready after " + timeout + ", see " + log);
+    }
+
+    void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
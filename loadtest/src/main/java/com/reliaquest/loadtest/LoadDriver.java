@@ -0,0 +1,122 @@
+package com.reliaquest.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Open-loop driver: requests are started at a constant arrival rate whatever the API's latency, the way independent
+ * clients arrive, instead of each waiting for the previous response. Closed-loop drivers slow down with the API and
+ * hide its stalls (coordinated omission); here a stall shows up as the latency of every request scheduled during it.
+ */
+final class LoadDriver {
+
+    private final HttpClient client;
+
+    private final Workload workload;
+
+    private final LoadTestConfig config;
+
+    private final Operation[] schedule;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    LoadDriver(HttpClient client, Workload workload, LoadTestConfig config) {
+        this.client = client;
+        this.workload = workload;
+        this.config = config;
+        this.schedule = schedule(config.mix());
+    }
+
+    /**
+     * Runs the warmup without recording, then the measured phase, and waits for the requests still in flight.
+     *
+     * @return the statistics of the measured phase, by operation
+     */
+    Map<Operation, OperationStats> run() throws InterruptedException {
+        if (!config.warmup().isZero()) {
+            System.out.printf("Warming up for %s at %.0f requests/s%n", config.warmup(), config.rps());
+            drive(config.warmup(), null);
+        }
+        System.out.printf("Measuring for %s at %.0f requests/s%n", config.duration(), config.rps());
+        final var stats = new EnumMap<Operation, OperationStats>(Operation.class);
+        for (Operation operation : config.mix().keySet()) {
+            stats.put(operation, new OperationStats());
+        }
+        drive(config.duration(), stats);
+        return stats;
+    }
+
+    private void drive(Duration phase, Map<Operation, OperationStats> stats) throws InterruptedException {
+        final var inFlight = new Semaphore(config.maxInFlight());
+        final var pending = ConcurrentHashMap.<CompletableFuture<?>>newKeySet();
+        final var intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.rps());
+        final var start = System.nanoTime();
+        final var end = start + phase.toNanos();
+        for (long next = start; next < end; next += intervalNanos) {
+            final var wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            final var operation = schedule[random.nextInt(schedule.length)];
+            final var request = workload.request(operation, random);
+            final var stat = stats == null ? null : stats.get(operation);
+            if (request.isEmpty()) {
+                if (stat != null) {
+                    stat.skip();
+                }
+                continue;
+            }
+            if (!inFlight.tryAcquire()) {
+                if (stat != null) {
+                    stat.drop();
+                }
+                continue;
+            }
+            final var intended = next;
+            final var future = client.sendAsync(request.get(), HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, failure) -> {
+                        inFlight.release();
+                        final var latency = System.nanoTime() - intended;
+                        if (failure != null) {
+                            if (stat != null) {
+                                stat.fail(latency);
+                            }
+                            return;
+                        }
+                        workload.onResponse(operation, response);
+                        if (stat != null) {
+                            stat.record(response.statusCode(), latency);
+                        }
+                    });
+            pending.add(future);
+            future.whenComplete((response, failure) -> pending.remove(future));
+        }
+        // Requests time out after --timeout, so this drain is bounded.
+        for (CompletableFuture<?> future : pending) {
+            try {
+                future.join();
+            } catch (RuntimeException alreadyRecorded) {
+                // Counted as a failure by the completion callback.
+            }
+        }
+    }
+
+    /*
+     * One slot per unit of weight, so a uniform pick follows the mix.
+     */
+    private static Operation[] schedule(Map<Operation, Integer> mix) {
+        return mix.entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Operation[]::new);
+    }
+}
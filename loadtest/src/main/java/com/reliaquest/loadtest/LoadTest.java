@@ -0,0 +1,77 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drives a configurable mix of the API operations at a target rate and reports throughput, latency percentiles and
+ * error and 429 rates. Unless {@code --api-url} points at a running API, the mock server and the API are started from
+ * their boot jars on local ports, so a run needs nothing but a JDK. Exits with status 1 when a budget is exceeded.
+ *
+ * <pre>
+ * ./gradlew loadtest:run -PloadtestArgs='--rps=200 --duration=60s --max-p99=250ms --max-error-rate=0.001'
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        final var config = LoadTestConfig.parse(args);
+        final var client = HttpClient.newBuilder()
+                .connectTimeout(config.timeout())
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        final var processes = new ArrayList<ApplicationProcess>();
+        final List<String> violations;
+        try {
+            final var apiUrl = config.apiUrl() != null ? config.apiUrl() : startApplications(config, client, processes);
+            final var workload = Workload.seed(client, apiUrl, config.timeout());
+            final var stats = new LoadDriver(client, workload, config).run();
+            final var report = new Report(stats, config.duration());
+            report.print();
+            if (config.report() != null) {
+                report.write(config.report());
+            }
+            violations = report.violations(config);
+        } finally {
+            for (ApplicationProcess process : processes) {
+                process.close();
+            }
+        }
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> System.out.println("FAILED: " + violation));
+            System.exit(1);
+        }
+        System.out.println("All budgets met");
+        System.exit(0);
+    }
+
+    private static URI startApplications(LoadTestConfig config, HttpClient client, List<ApplicationProcess> processes)
+            throws Exception {
+        final var serverArgs = new ArrayList<String>(List.of(
+                "--server.port=" + config.serverPort(),
+                "--mock.employees.max=" + config.rosterSize(),
+                "--mock.request-limit.enabled=" + config.requestLimit(),
+                "--logging.level.com.reliaquest=INFO"));
+        serverArgs.addAll(config.serverArgs());
+        final var server = ApplicationProcess.start("server", config.serverJar(), serverArgs, config.logDir());
+        processes.add(server);
+        server.awaitReady(
+                client, URI.create("http://localhost:" + config.serverPort() + "/api/v1/employee"), STARTUP_TIMEOUT);
+
+        final var apiArgs = new ArrayList<String>(List.of(
+                "--server.port=" + config.apiPort(), "--url.baseUrl=http://localhost:" + config.serverPort()));
+        apiArgs.addAll(config.apiArgs());
+        final var api = ApplicationProcess.start("api", config.apiJar(), apiArgs, config.logDir());
+        processes.add(api);
+        final var apiUrl = URI.create("http://localhost:" + config.apiPort());
+        api.awaitReady(client, apiUrl.resolve("/employees/highestSalary"), STARTUP_TIMEOUT);
+        return apiUrl;
+    }
+}
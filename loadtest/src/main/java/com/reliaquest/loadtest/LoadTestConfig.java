@@ -0,0 +1,132 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Options of a run, given as {@code --name=value} arguments; {@code --api-arg} and {@code --server-arg} may repeat.
+ *
+ * @param apiUrl an API that is already running; when absent both applications are started from their boot jars
+ * @param mix relative weight of every operation
+ * @param maxP99 latency budgets and error budget checked after the run, absent when not gated
+ */
+record LoadTestConfig(
+        Path serverJar,
+        Path apiJar,
+        URI apiUrl,
+        int serverPort,
+        int apiPort,
+        int rosterSize,
+        boolean requestLimit,
+        List<String> serverArgs,
+        List<String> apiArgs,
+        Path logDir,
+        double rps,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        int maxInFlight,
+        Duration timeout,
+        Path report,
+        Duration maxP99,
+        Duration maxP999,
+        Double maxErrorRate,
+        Double max429Rate) {
+
+    static final String DEFAULT_MIX = "getAll:5,search:15,byId:40,highestSalary:10,topTen:10,create:10,delete:10";
+
+    private static final Set<String> REPEATABLE = Set.of("server-arg", "api-arg");
+
+    static LoadTestConfig parse(String[] args) {
+        final var options = new HashMap<String, String>();
+        final var serverArgs = new ArrayList<String>();
+        final var apiArgs = new ArrayList<String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+            }
+            final var name = arg.substring(2, arg.indexOf('='));
+            final var value = arg.substring(arg.indexOf('=') + 1);
+            if (REPEATABLE.contains(name)) {
+                (name.equals("server-arg") ? serverArgs : apiArgs).add(value);
+            } else {
+                options.put(name, value);
+            }
+        }
+        final var config = new LoadTestConfig(
+                path(options.get("server-jar")),
+                path(options.get("api-jar")),
+                options.containsKey("api-url") ? URI.create(options.get("api-url")) : null,
+                Integer.parseInt(options.getOrDefault("server-port", "18112")),
+                Integer.parseInt(options.getOrDefault("api-port", "18111")),
+                Integer.parseInt(options.getOrDefault("roster-size", "1000")),
+                Boolean.parseBoolean(options.getOrDefault("request-limit", "false")),
+                List.copyOf(serverArgs),
+                List.copyOf(apiArgs),
+                Path.of(options.getOrDefault("log-dir", "loadtest/build/logs")),
+                Double.parseDouble(options.getOrDefault("rps", "100")),
+                duration(options.getOrDefault("warmup", "10s")),
+                duration(options.getOrDefault("duration", "60s")),
+                mix(options.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "1000")),
+                duration(options.getOrDefault("timeout", "10s")),
+                path(options.get("report")),
+                options.containsKey("max-p99") ? duration(options.get("max-p99")) : null,
+                options.containsKey("max-p999") ? duration(options.get("max-p999")) : null,
+                options.containsKey("max-error-rate") ? Double.parseDouble(options.get("max-error-rate")) : null,
+                options.containsKey("max-429-rate") ? Double.parseDouble(options.get("max-429-rate")) : null);
+        if (config.apiUrl() == null && (config.serverJar() == null || config.apiJar() == null)) {
+            throw new IllegalArgumentException("Either --api-url or both --server-jar and --api-jar are required");
+        }
+        if (config.rps() <= 0 || config.duration().isZero() || config.duration().isNegative()) {
+            throw new IllegalArgumentException("--rps and --duration must be positive");
+        }
+        return config;
+    }
+
+    /**
+     * @param value such as {@code 250ms}, {@code 30s} or {@code 2m}
+     */
+    static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        final var amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Expected a duration such as 250ms, 30s or 2m but got '"
+                    + value + "'");
+        };
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        final var mix = new EnumMap<Operation, Integer>(Operation.class);
+        for (String entry : value.split(",")) {
+            final var parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight but got '" + entry + "'");
+            }
+            final var weight = Integer.parseInt(parts[1]);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of " + parts[0] + " must not be negative");
+            }
+            mix.put(Operation.ofKey(parts[0]), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("--mix needs at least one positive weight");
+        }
+        return mix;
+    }
+
+    private static Path path(String value) {
+        return value == null ? null : Path.of(value);
+    }
+}
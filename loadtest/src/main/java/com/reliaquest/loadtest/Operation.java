@@ -0,0 +1,34 @@
+package com.reliaquest.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The seven operations of {@code IEmployeeController}, named as in the {@code --mix} option.
+ */
+enum Operation {
+    GET_ALL("getAll"),
+    SEARCH("search"),
+    BY_ID("byId"),
+    HIGHEST_SALARY("highestSalary"),
+    TOP_TEN("topTen"),
+    CREATE("create"),
+    DELETE("delete");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation ofKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + key + "', expected one of "
+                        + Arrays.stream(values()).map(Operation::key).toList()));
+    }
+}
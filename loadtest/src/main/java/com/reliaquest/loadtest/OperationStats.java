@@ -0,0 +1,134 @@
+package com.reliaquest.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Outcomes and latencies of one operation during the measured phase. Latency runs from the intended start of a
+ * request, not from when it was actually sent, so a stalled API is charged for the requests it delayed.
+ */
+final class OperationStats {
+
+    private long[] latencies = new long[1024];
+
+    private int count;
+
+    private long ok;
+
+    private long tooManyRequests;
+
+    private long errors;
+
+    private long failures;
+
+    private long dropped;
+
+    private long skipped;
+
+    synchronized void record(int status, long latencyNanos) {
+        if (status == 429) {
+            tooManyRequests++;
+        } else if (status >= 400) {
+            errors++;
+        } else {
+            ok++;
+        }
+        addLatency(latencyNanos);
+    }
+
+    /**
+     * Timeouts and connection errors: no response at all.
+     */
+    synchronized void fail(long latencyNanos) {
+        failures++;
+        addLatency(latencyNanos);
+    }
+
+    /**
+     * Not sent because {@code --max-in-flight} requests were already waiting.
+     */
+    synchronized void drop() {
+        dropped++;
+    }
+
+    /**
+     * Not sent because the operation had no employee to target.
+     */
+    synchronized void skip() {
+        skipped++;
+    }
+
+    synchronized void mergeInto(OperationStats total) {
+        synchronized (total) {
+            for (int i = 0; i < count; i++) {
+                total.addLatency(latencies[i]);
+            }
+            total.ok += ok;
+            total.tooManyRequests += tooManyRequests;
+            total.errors += errors;
+            total.failures += failures;
+            total.dropped += dropped;
+            total.skipped += skipped;
+        }
+    }
+
+    synchronized Summary summarize(double seconds) {
+        final var sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        final long attempted = ok + tooManyRequests + errors + failures + dropped;
+        return new Summary(
+                attempted,
+                ok,
+                tooManyRequests,
+                errors + failures + dropped,
+                skipped,
+                ok / seconds,
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.99),
+                percentile(sorted, 0.999),
+                count == 0 ? 0 : sorted[count - 1]);
+    }
+
+    private void addLatency(long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+    }
+
+    /*
+     * Nearest rank: the smallest latency at or above the given fraction of all samples.
+     */
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final var rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * @param attempted requests due in the measured phase, except skipped ones
+     * @param failed error statuses other than 429, timeouts, connection errors and dropped requests
+     * @param throughput successful responses per second
+     */
+    record Summary(
+            long attempted,
+            long ok,
+            long tooManyRequests,
+            long failed,
+            long skipped,
+            double throughput,
+            long p50Nanos,
+            long p99Nanos,
+            long p999Nanos,
+            long maxNanos) {
+
+        double errorRate() {
+            return attempted == 0 ? 0 : (double) failed / attempted;
+        }
+
+        double tooManyRequestsRate() {
+            return attempted == 0 ? 0 : (double) tooManyRequests / attempted;
+        }
+    }
+}
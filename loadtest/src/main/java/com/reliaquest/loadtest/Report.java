@@ -0,0 +1,100 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary of a run: printed as a table, optionally written as JSON, and checked against the budgets of the run.
+ */
+final class Report {
+
+    private static final String TOTAL = "total";
+
+    private final Map<String, OperationStats.Summary> summaries = new LinkedHashMap<>();
+
+    Report(Map<Operation, OperationStats> stats, Duration duration) {
+        final var seconds = duration.toNanos() / 1e9;
+        final var total = new OperationStats();
+        stats.forEach((operation, stat) -> {
+            summaries.put(operation.key(), stat.summarize(seconds));
+            stat.mergeInto(total);
+        });
+        summaries.put(TOTAL, total.summarize(seconds));
+    }
+
+    void print() {
+        System.out.printf(
+                "%n%-14s %9s %9s %8s %8s %8s %10s %10s %10s %10s%n",
+                "operation", "requests", "req/s", "errors", "429", "skipped", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        summaries.forEach((name, summary) -> System.out.printf(
+                "%-14s %9d %9.1f %7.2f%% %7.2f%% %8d %10.2f %10.2f %10.2f %10.2f%n",
+                name,
+                summary.attempted(),
+                summary.throughput(),
+                summary.errorRate() * 100,
+                summary.tooManyRequestsRate() * 100,
+                summary.skipped(),
+                millis(summary.p50Nanos()),
+                millis(summary.p99Nanos()),
+                millis(summary.p999Nanos()),
+                millis(summary.maxNanos())));
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        final var json = new LinkedHashMap<String, Object>();
+        summaries.forEach((name, summary) -> json.put(
+                name,
+                Map.of(
+                        "requests", summary.attempted(),
+                        "throughput", summary.throughput(),
+                        "errorRate", summary.errorRate(),
+                        "tooManyRequestsRate", summary.tooManyRequestsRate(),
+                        "skipped", summary.skipped(),
+                        "p50Ms", millis(summary.p50Nanos()),
+                        "p99Ms", millis(summary.p99Nanos()),
+                        "p999Ms", millis(summary.p999Nanos()),
+                        "maxMs", millis(summary.maxNanos()))));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), json);
+        System.out.printf("Report written to %s%n", path);
+    }
+
+    /**
+     * @return the budgets the total of the run exceeded, empty when it passed
+     */
+    List<String> violations(LoadTestConfig config) {
+        final var total = summaries.get(TOTAL);
+        final var violations = new ArrayList<String>();
+        if (config.maxP99() != null && total.p99Nanos() > config.maxP99().toNanos()) {
+            violations.add(String.format(
+                    "p99 %.2f ms exceeds %d ms", millis(total.p99Nanos()), config.maxP99().toMillis()));
+        }
+        if (config.maxP999() != null && total.p999Nanos() > config.maxP999().toNanos()) {
+            violations.add(String.format(
+                    "p99.9 %.2f ms exceeds %d ms", millis(total.p999Nanos()), config.maxP999().toMillis()));
+        }
+        if (config.maxErrorRate() != null && total.errorRate() > config.maxErrorRate()) {
+            violations.add(String.format(
+                    "error rate %.4f exceeds %.4f", total.errorRate(), config.maxErrorRate()));
+        }
+        if (config.max429Rate() != null && total.tooManyRequestsRate() > config.max429Rate()) {
+            violations.add(String.format(
+                    "429 rate %.4f exceeds %.4f", total.tooManyRequestsRate(), config.max429Rate()));
+        }
+        return violations;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,154 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Builds the requests of every operation against the API and keeps the pool of known employee ids current: seeded
+ * from the roster, grown by creates and drained by deletes, so lookups and deletes target existing employees.
+ */
+final class Workload {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final URI employees;
+
+    private final Duration timeout;
+
+    private final List<String> ids = new ArrayList<>();
+
+    private final List<String> names;
+
+    private final AtomicLong created = new AtomicLong();
+
+    private Workload(URI apiUrl, Duration timeout, List<String> ids, List<String> names) {
+        this.employees = apiUrl.resolve("/employees");
+        this.timeout = timeout;
+        this.ids.addAll(ids);
+        this.names = names;
+    }
+
+    static Workload seed(HttpClient client, URI apiUrl, Duration timeout) throws IOException, InterruptedException {
+        final var request = HttpRequest.newBuilder(apiUrl.resolve("/employees"))
+                .timeout(timeout)
+                .GET()
+                .build();
+        final var response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not read the roster to seed the workload: HTTP " + response.statusCode());
+        }
+        final var ids = new ArrayList<String>();
+        final var names = new ArrayList<String>();
+        for (var employee : new ObjectMapper().readTree(response.body())) {
+            ids.add(employee.path("id").asText());
+            names.add(employee.path("employee_name").asText());
+        }
+        if (names.isEmpty()) {
+            names.add("Load Test");
+        }
+        System.out.printf("Seeded the workload with %d employees%n", ids.size());
+        return new Workload(apiUrl, timeout, ids, names);
+    }
+
+    /**
+     * @return the request, or empty when the operation has no employee to target
+     */
+    Optional<HttpRequest> request(Operation operation, RandomGenerator random) {
+        return switch (operation) {
+            case GET_ALL -> Optional.of(get(employees.toString()));
+            case SEARCH -> Optional.of(get(employees + "/search/" + fragment(random)));
+            case BY_ID -> randomId(random).map(id -> get(employees + "/" + id));
+            case HIGHEST_SALARY -> Optional.of(get(employees + "/highestSalary"));
+            case TOP_TEN -> Optional.of(get(employees + "/topTenHighestEarningEmployeeNames"));
+            case CREATE -> Optional.of(create(random));
+            case DELETE -> takeId(random).map(id -> HttpRequest.newBuilder(URI.create(employees + "/" + id))
+                    .timeout(timeout)
+                    .DELETE()
+                    .build());
+        };
+    }
+
+    void onResponse(Operation operation, HttpResponse<byte[]> response) {
+        if (operation != Operation.CREATE || response.statusCode() != 200) {
+            return;
+        }
+        try {
+            final var id = objectMapper.readTree(response.body()).path("id").asText(null);
+            if (id != null) {
+                synchronized (ids) {
+                    ids.add(id);
+                }
+            }
+        } catch (IOException ignored) {
+            // Not an employee, the pool simply does not grow.
+        }
+    }
+
+    private HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(timeout).GET().build();
+    }
+
+    private HttpRequest create(RandomGenerator random) {
+        final var body = Map.of(
+                "name", "Load Test " + created.incrementAndGet(),
+                "salary", random.nextInt(30_000, 500_000),
+                "age", random.nextInt(16, 76),
+                "title", "Load Tester");
+        try {
+            return HttpRequest.newBuilder(employees)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            objectMapper.writeValueAsString(body), StandardCharsets.UTF_8))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * Three letters of a known name, URL safe.
+     */
+    private String fragment(RandomGenerator random) {
+        final var name = names.get(random.nextInt(names.size())).replaceAll("[^A-Za-z]", "");
+        if (name.length() <= 3) {
+            return name.isEmpty() ? "a" : name;
+        }
+        final var start = random.nextInt(name.length() - 2);
+        return name.substring(start, start + 3);
+    }
+
+    private Optional<String> randomId(RandomGenerator random) {
+        synchronized (ids) {
+            return ids.isEmpty() ? Optional.empty() : Optional.of(ids.get(random.nextInt(ids.size())));
+        }
+    }
+
+    /*
+     * Removes the id so no later lookup or delete targets the deleted employee.
+     */
+    private Optional<String> takeId(RandomGenerator random) {
+        synchronized (ids) {
+            if (ids.isEmpty()) {
+                return Optional.empty();
+            }
+            final var index = random.nextInt(ids.size());
+            final var id = ids.get(index);
+            ids.set(index, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return Optional.of(id);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.reliaquest.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LoadDriverTest {
+
+    private static final long STALL_MILLIS = 800;
+
+    private final AtomicInteger measured = new AtomicInteger();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private HttpServer api;
+
+    /*
+     * Answers the seeding read with an empty roster, then stalls on the first measured request. Its single thread
+     * holds back every request behind the stalled one, the way a stop-the-world pause would.
+     */
+    @BeforeEach
+    void startApi() throws IOException {
+        api = HttpServer.create(new InetSocketAddress("localhost", 0), 200);
+        api.createContext("/employees", this::respond);
+        api.start();
+    }
+
+    @AfterEach
+    void stopApi() {
+        api.stop(0);
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        if (measured.getAndIncrement() == 1) {
+            try {
+                Thread.sleep(STALL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        final var body = "[]".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private LoadDriver driver(String... options) throws Exception {
+        final var args = new String[options.length + 5];
+        args[0] = "--api-url=http://localhost:" + api.getAddress().getPort();
+        args[1] = "--rps=50";
+        args[2] = "--warmup=0s";
+        args[3] = "--duration=1s";
+        args[4] = "--mix=getAll:1";
+        System.arraycopy(options, 0, args, 5, options.length);
+        final var config = LoadTestConfig.parse(args);
+        return new LoadDriver(client, Workload.seed(client, config.apiUrl(), config.timeout()), config);
+    }
+
+    @Test
+    void keepsSendingAtTheArrivalRateWhileTheApiStalls() throws Exception {
+        final var summary = driver().run().get(Operation.GET_ALL).summarize(1);
+
+        // The seeding read, then one request every 20 ms for a second, none held back waiting for a response.
+        assertEquals(51, measured.get());
+        assertEquals(50, summary.attempted());
+        assertEquals(50, summary.ok());
+    }
+
+    @Test
+    void chargesTheStallToEveryRequestScheduledDuringIt() throws Exception {
+        final var summary = driver().run().get(Operation.GET_ALL).summarize(1);
+
+        // 40 of the 50 requests are due during the 800 ms stall and wait for it to end: measured from when they
+        // were due, the median waits 300 ms. Measured from when a closed loop would have sent them, only the
+        // stalled request itself would be slow.
+        assertTrue(summary.p50Nanos() >= TimeUnit.MILLISECONDS.toNanos(200), summary::toString);
+        assertTrue(summary.maxNanos() >= TimeUnit.MILLISECONDS.toNanos(STALL_MILLIS), summary::toString);
+    }
+
+    @Test
+    void dropsRequestsOverTheInFlightLimitInsteadOfDelayingThem() throws Exception {
+        final var started = System.nanoTime();
+        final var summary = driver("--max-in-flight=1").run().get(Operation.GET_ALL).summarize(1);
+        final var elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertEquals(50, summary.attempted());
+        assertTrue(summary.failed() >= 30, summary::toString);
+        assertEquals(summary.attempted() - summary.failed(), measured.get() - 1);
+        assertTrue(elapsed.toMillis() < 1000 + STALL_MILLIS, elapsed::toString);
+    }
+}
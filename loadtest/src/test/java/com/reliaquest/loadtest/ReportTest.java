@@ -0,0 +1,124 @@
+package com.reliaquest.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReportTest {
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /*
+     * A thousand responses taking 1 ms to 1000 ms, shuffled so the percentiles cannot rely on arrival order.
+     */
+    private static OperationStats oneToAThousandMillis() {
+        final var stats = new OperationStats();
+        for (int i = 0; i < 1000; i++) {
+            stats.record(200, millis((i * 7L) % 1000 + 1));
+        }
+        return stats;
+    }
+
+    @Test
+    void percentilesAreNearestRank() {
+        final var summary = oneToAThousandMillis().summarize(10);
+
+        assertEquals(millis(500), summary.p50Nanos());
+        assertEquals(millis(990), summary.p99Nanos());
+        assertEquals(millis(999), summary.p999Nanos());
+        assertEquals(millis(1000), summary.maxNanos());
+        assertEquals(100.0, summary.throughput());
+    }
+
+    @Test
+    void percentilesOfFewSamplesAreActualSamples() {
+        final var stats = new OperationStats();
+        stats.record(200, millis(3));
+        stats.record(200, millis(1));
+        stats.record(200, millis(2));
+
+        final var summary = stats.summarize(1);
+
+        assertEquals(millis(2), summary.p50Nanos());
+        assertEquals(millis(3), summary.p99Nanos());
+        assertEquals(millis(3), summary.p999Nanos());
+        assertEquals(0, new OperationStats().summarize(1).p99Nanos());
+    }
+
+    @Test
+    void ratesCountDroppedButNotSkippedRequests() {
+        final var stats = new OperationStats();
+        stats.record(200, millis(1));
+        stats.record(200, millis(1));
+        stats.record(429, millis(1));
+        stats.record(503, millis(1));
+        stats.fail(millis(10_000));
+        stats.drop();
+        stats.skip();
+
+        final var summary = stats.summarize(2);
+
+        assertEquals(6, summary.attempted());
+        assertEquals(3, summary.failed());
+        assertEquals(1, summary.skipped());
+        assertEquals(1.0, summary.throughput());
+        assertEquals(0.5, summary.errorRate());
+        assertEquals(1.0 / 6, summary.tooManyRequestsRate());
+    }
+
+    @Test
+    void totalMergesTheLatenciesOfEveryOperation(@TempDir Path dir) throws Exception {
+        final var stats = new EnumMap<Operation, OperationStats>(Operation.class);
+        stats.put(Operation.BY_ID, oneToAThousandMillis());
+        final var slow = new OperationStats();
+        for (int i = 0; i < 1000; i++) {
+            slow.record(200, millis(2000));
+        }
+        stats.put(Operation.GET_ALL, slow);
+
+        final var report = new Report(stats, Duration.ofSeconds(10));
+        final var path = dir.resolve("report.json");
+        report.write(path);
+
+        final var json = new ObjectMapper().readTree(path.toFile());
+        assertEquals(990.0, json.get("byId").get("p99Ms").asDouble());
+        assertEquals(2000.0, json.get("getAll").get("p50Ms").asDouble());
+        assertEquals(2000, json.get("total").get("requests").asLong());
+        assertEquals(200.0, json.get("total").get("throughput").asDouble());
+        assertEquals(1000.0, json.get("total").get("p50Ms").asDouble());
+        assertEquals(2000.0, json.get("total").get("p99Ms").asDouble());
+    }
+
+    @Test
+    void violationsCheckTheTotalAgainstTheBudgets() {
+        final var stats = new EnumMap<Operation, OperationStats>(Operation.class);
+        stats.put(Operation.BY_ID, oneToAThousandMillis());
+        stats.get(Operation.BY_ID).record(429, millis(1));
+        final var report = new Report(stats, Duration.ofSeconds(10));
+
+        assertTrue(report.violations(config("--max-p99=990ms", "--max-p999=1000ms", "--max-429-rate=0.001"))
+                .isEmpty());
+        final var violations = report.violations(
+                config("--max-p99=989ms", "--max-p999=998ms", "--max-error-rate=0", "--max-429-rate=0"));
+        assertEquals(3, violations.size());
+        assertTrue(violations.get(0).startsWith("p99 990.00 ms"));
+        assertTrue(violations.get(1).startsWith("p99.9 999.00 ms"));
+        assertTrue(violations.get(2).startsWith("429 rate"));
+    }
+
+    private static LoadTestConfig config(String... budgets) {
+        final var args = new String[budgets.length + 1];
+        args[0] = "--api-url=http://localhost:18111";
+        System.arraycopy(budgets, 0, args, 1, budgets.length);
+        return LoadTestConfig.parse(args);
+    }
+}
@@ -0,0 +1,21 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * Request latencies are recorded by Spring Boot as http.server.requests; this adds the state of the roster.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public MeterBinder rosterMetrics(MockEmployeeRepository mockEmployeeRepository) {
+        return registry -> Gauge.builder("mock.employees.roster.size", mockEmployeeRepository::count)
+                .description("Employees in the roster")
+                .register(registry);
+    }
+}
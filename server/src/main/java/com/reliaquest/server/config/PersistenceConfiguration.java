@@ -0,0 +1,29 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.persistence.LogMockEmployeeStore;
+import com.reliaquest.server.repository.MockEmployeeStore;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(PersistenceProperties.class)
+public class PersistenceConfiguration {
+
+    /*
+     * Closed on shutdown, which waits for a snapshot being written and syncs the log.
+     */
+    @Bean
+    public MockEmployeeStore mockEmployeeStore(PersistenceProperties properties) {
+        if (!properties.isEnabled()) {
+            return MockEmployeeStore.NONE;
+        }
+        final var directory = Path.of(properties.getDirectory()).toAbsolutePath();
+        log.info("Persisting the roster to {}", directory);
+        return new LogMockEmployeeStore(
+                directory, properties.isFsync(), properties.getSnapshotLogSize().toBytes());
+    }
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.server.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "mock.persistence")
+public class PersistenceProperties {
+
+    /**
+     * Off by default: the roster lives in memory and is generated again on every start.
+     */
+    private boolean enabled = false;
+
+    private String directory = "data";
+
+    /**
+     * Whether a write waits for the log to reach the disk, or only the operating system.
+     */
+    private boolean fsync = true;
+
+    /**
+     * Log size after which a snapshot is written and the log restarted.
+     */
+    private DataSize snapshotLogSize = DataSize.ofMegabytes(64);
+}
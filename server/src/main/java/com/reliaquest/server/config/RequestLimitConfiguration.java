@@ -0,0 +1,92 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.web.RandomRequestLimiter;
+import com.reliaquest.server.web.RequestLimitInterceptor;
+import com.reliaquest.server.web.RequestLimiter;
+import com.reliaquest.server.web.SlidingWindowRequestLimiter;
+import com.reliaquest.server.web.TokenBucketRequestLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/*
+ * On by default; load tests that measure the API rather than its handling of 429s turn it off with
+ * mock.request-limit.enabled=false. Actuator endpoints are never limited so scrapes do not eat into the budget.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RequestLimitProperties.class)
+@ConditionalOnProperty(prefix = "mock.request-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestLimitConfiguration implements WebMvcConfigurer {
+
+    private final RequestLimitProperties properties;
+
+    @Bean
+    public RequestLimiter requestLimiter() {
+        return switch (properties.getAlgorithm()) {
+            case TOKEN_BUCKET -> {
+                final var tokenBucket = properties.getTokenBucket();
+                log.info(
+                        "Rate limiting by {} with a token bucket of {} refilled at {}/s",
+                        properties.getKey(),
+                        tokenBucket.getCapacity(),
+                        tokenBucket.getRefillPerSecond());
+                yield new TokenBucketRequestLimiter(
+                        tokenBucket.getCapacity(), tokenBucket.getRefillPerSecond(), properties.getMaxKeys());
+            }
+            case SLIDING_WINDOW -> {
+                final var slidingWindow = properties.getSlidingWindow();
+                log.info(
+                        "Rate limiting by {} to {} requests per {}",
+                        properties.getKey(),
+                        slidingWindow.getLimit(),
+                        slidingWindow.getWindow());
+                yield new SlidingWindowRequestLimiter(
+                        slidingWindow.getLimit(), slidingWindow.getWindow(), properties.getMaxKeys());
+            }
+            case RANDOM -> {
+                final var random = properties.getRandom();
+                final var limiter = new RandomRequestLimiter(
+                        properties.getSeed() != null
+                                ? new SplittableRandom(properties.getSeed())
+                                : RandomGenerator.getDefault(),
+                        random.getMinLimit(),
+                        random.getMaxLimit(),
+                        random.getMinBackoff(),
+                        random.getMaxBackoff(),
+                        properties.getMaxKeys());
+                log.info(
+                        "Rate limiting by {} to {} requests, then backing off for {}",
+                        properties.getKey(),
+                        limiter.getLimit(),
+                        limiter.getBackoff());
+                yield limiter;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestLimitInterceptor(requestLimiter(), clientKey()))
+                .excludePathPatterns("/actuator/**");
+    }
+
+    private Function<HttpServletRequest, String> clientKey() {
+        return switch (properties.getKey()) {
+            case GLOBAL -> request -> "global";
+            case REMOTE_ADDRESS -> HttpServletRequest::getRemoteAddr;
+            case HEADER -> request -> Objects.requireNonNullElse(request.getHeader(properties.getKeyHeader()), "");
+        };
+    }
+}
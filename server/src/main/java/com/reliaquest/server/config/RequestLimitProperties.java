@@ -0,0 +1,80 @@
+package com.reliaquest.server.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "mock.request-limit")
+public class RequestLimitProperties {
+
+    private boolean enabled = true;
+
+    private Algorithm algorithm = Algorithm.RANDOM;
+
+    private Key key = Key.GLOBAL;
+
+    /**
+     * Header naming the client when {@code key} is {@code header}; requests without it share one key.
+     */
+    private String keyHeader = "X-Client-Id";
+
+    /**
+     * Clients tracked individually, later ones share a single key.
+     */
+    private int maxKeys = 10_000;
+
+    /**
+     * Seeds the {@code random} algorithm so it draws the same limit and backoff on every start.
+     */
+    private Long seed;
+
+    private TokenBucket tokenBucket = new TokenBucket();
+
+    private SlidingWindow slidingWindow = new SlidingWindow();
+
+    private Random random = new Random();
+
+    public enum Algorithm {
+        RANDOM,
+        TOKEN_BUCKET,
+        SLIDING_WINDOW
+    }
+
+    public enum Key {
+        GLOBAL,
+        REMOTE_ADDRESS,
+        HEADER
+    }
+
+    @Data
+    public static class TokenBucket {
+
+        private int capacity = 10;
+
+        private double refillPerSecond = 5;
+    }
+
+    @Data
+    public static class SlidingWindow {
+
+        private int limit = 100;
+
+        private Duration window = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Upper bounds are exclusive.
+     */
+    @Data
+    public static class Random {
+
+        private int minLimit = 5;
+
+        private int maxLimit = 10;
+
+        private Duration minBackoff = Duration.ofSeconds(30);
+
+        private Duration maxBackoff = Duration.ofSeconds(90);
+    }
+}
@@ -1,59 +1,100 @@
 package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import com.reliaquest.server.repository.MockEmployeeChangeLog;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import com.reliaquest.server.repository.MockEmployeeStore;
+import com.reliaquest.server.roster.MockEmployeeGenerator;
+import com.reliaquest.server.roster.MockEmployeeRosterFile;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
-public class ServerConfiguration implements WebMvcConfigurer {
+public class ServerConfiguration {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private static final int LOGGED_EMPLOYEES_MAX = 1000;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Keeps the latest mock.changes.retained creates and deletes for GET /api/v1/employee/changes.
+     */
+    @Bean
+    public MockEmployeeChangeLog mockEmployeeChangeLog(@Value("${mock.changes.retained:10000}") int retained) {
+        return new MockEmployeeChangeLog(retained);
+    }
+
+    /*
+     * Recovered from the store when it holds a roster, else seeded with the initial roster. The initial roster is not
+     * a bean of its own, so the columnar layout does not keep its employees reachable.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public MockEmployeeRepository mockEmployeeRepository(
+            @Value("${mock.employees.layout:objects}") MockEmployeeRepository.Layout layout,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.file:}") String file,
+            MockEmployeeStore mockEmployeeStore,
+            MockEmployeeChangeLog mockEmployeeChangeLog)
+            throws IOException {
+        final var mockEmployees = mockEmployees(maxEmployees, seed, file);
+        final var started = System.nanoTime();
+        final var repository = layout.create(mockEmployees, mockEmployeeChangeLog.recording(mockEmployeeStore));
+        log.info(
+                "Indexed {} employees in the {} layout in {} ms",
+                repository.count(),
+                layout.name().toLowerCase(Locale.ROOT),
+                millisSince(started));
+        return repository;
+    }
+
+    /*
+     * Loaded from mock.employees.file when it exists, else generated and, when a file is configured, saved there for
+     * the next start.
+     */
+    private static List<MockEmployee> mockEmployees(int maxEmployees, Long seed, String file) throws IOException {
+        final var started = System.nanoTime();
+        final var path = file.isBlank() ? null : Path.of(file);
+        final List<MockEmployee> mockEmployees;
+        if (path != null && Files.exists(path)) {
+            mockEmployees = MockEmployeeRosterFile.read(path);
+            log.info("Loaded {} employees from {} in {} ms", mockEmployees.size(), path, millisSince(started));
+        } else {
+            final var rosterSeed = seed != null ? seed : RandomGenerator.getDefault().nextLong();
+            mockEmployees = new MockEmployeeGenerator(Locale.getDefault(), rosterSeed).generate(maxEmployees);
+            log.info(
+                    "Generated {} employees with mock.employees.seed={} in {} ms",
+                    mockEmployees.size(),
+                    rosterSeed,
+                    millisSince(started));
+            if (path != null) {
+                MockEmployeeRosterFile.write(path, mockEmployees);
+                log.info("Saved the roster to {}", path);
+            }
+        }
+        if (log.isDebugEnabled() && mockEmployees.size() <= LOGGED_EMPLOYEES_MAX) {
+            mockEmployees.forEach(mockEmployee -> log.debug("Created employee: {}", mockEmployee));
+        }
+        return mockEmployees;
     }
 
-    @Override
-    public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
 }
@@ -1,15 +1,26 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeBatchInput;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import com.reliaquest.server.model.MockEmployeeSalaryStatistics;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,18 +28,127 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    static final int MAX_PAGE_SIZE = 1000;
+
+    /*
+     * Below the 30s servlet containers give asynchronous requests by default.
+     */
+    static final long MAX_CHANGES_WAIT_MS = 25_000;
+
     private final MockEmployeeService mockEmployeeService;
 
+    private final ObjectMapper objectMapper;
+
+    /*
+     * Conditional on the roster version: a client sending back the ETag of an unchanged roster gets 304 and no body.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(WebRequest request) {
+        final var version = mockEmployeeService.getRosterVersion();
+        final var lastModified = version.lastModified().toEpochMilli();
+        if (request.checkNotModified(version.eTag(), lastModified)) {
+            // The 304 and its headers are already set, a null return tells Spring MVC the request is handled.
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(version.eTag())
+                .lastModified(lastModified)
+                .body(Response.handledWith(mockEmployeeService.getMockEmployees()));
+    }
+
+    /*
+     * Pages through the roster in insertion order, starting after the given cursor or else at the given offset.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<Response<MockEmployeePage>> getEmployeePage(
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "offset", defaultValue = "0") int offset,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        if (offset < 0 || limit < 1) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("Offset must not be negative and limit must be greater than zero."));
+        }
+        final int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        return ResponseEntity.ok(Response.handledWith(
+                cursor != null
+                        ? mockEmployeeService.getMockEmployeePageAfter(cursor, pageSize)
+                        : mockEmployeeService.getMockEmployeePage(offset, pageSize)));
+    }
+
+    /*
+     * Writes the roster as newline-delimited JSON, one employee at a time, without materializing it.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        final var writer =
+                objectMapper.writerFor(MockEmployee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(outputStream -> {
+            try (var generator = objectMapper.getFactory().createGenerator(outputStream);
+                    var employees = mockEmployeeService.streamMockEmployees()) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                for (var iterator = employees.iterator(); iterator.hasNext(); ) {
+                    writer.writeValue(generator, iterator.next());
+                    generator.writeRaw('\n');
+                }
+            }
+        });
+    }
+
+    /*
+     * Creates and deletes after the given roster version, oldest first, to follow the roster without reading it again.
+     * With waitMs, a request finding no changes yet is held until the next write or for that long (long polling). A
+     * reset answer, e.g. without since, asks the client to read the roster and follow the changes from its version.
+     */
+    @GetMapping("/changes")
+    public CompletableFuture<ResponseEntity<Response<MockEmployeeChanges>>> getChanges(
+            @RequestParam(name = "since", required = false) Long since,
+            @RequestParam(name = "epoch", required = false) Long epoch,
+            @RequestParam(name = "waitMs", defaultValue = "0") long waitMs) {
+        if ((since != null && since < 0) || waitMs < 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(Response.error("Since and waitMs must not be negative.")));
+        }
+        return mockEmployeeService
+                .getChangesSince(since, epoch, Duration.ofMillis(Math.min(waitMs, MAX_CHANGES_WAIT_MS)))
+                .thenApply(changes -> ResponseEntity.ok(Response.handledWith(changes)));
+    }
+
+    @GetMapping("/stats/salary")
+    public Response<MockEmployeeSalaryStatistics> getSalaryStatistics() {
+        return Response.handledWith(mockEmployeeService.getSalaryStatistics());
+    }
+
+    /*
+     * Highest salary first, equal salaries in insertion order.
+     */
+    @GetMapping("/stats/topEarners")
+    public ResponseEntity<Response<List<MockEmployee>>> getTopEarners(
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().body(Response.error("Limit must be greater than zero."));
+        }
+        return ResponseEntity.ok(
+                Response.handledWith(mockEmployeeService.getTopEarners(Math.min(limit, MAX_PAGE_SIZE))));
+    }
+
+    @GetMapping("/stats/titles")
+    public Response<Map<String, Long>> getCountsByTitle() {
+        return Response.handledWith(mockEmployeeService.getCountsByTitle());
+    }
+
+    @GetMapping("/stats/ageBands")
+    public Response<Map<String, Long>> getCountsByAgeBand() {
+        return Response.handledWith(mockEmployeeService.getCountsByAgeBand());
     }
 
     @GetMapping("/{id}")
@@ -48,4 +168,33 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /*
+     * Deletes exactly the employee with the given id and returns it, sparing clients a lookup of its name.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> deleteEmployeeById(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .deleteById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
+    /*
+     * Creates up to MockEmployeeBatchInput.MAX_SIZE employees at once, returned in input order.
+     */
+    @PostMapping("/batch")
+    public Response<List<MockEmployee>> createEmployees(
+            @Valid @RequestBody MockEmployeeBatchInput<CreateMockEmployeeInput> input) {
+        return Response.handledWith(mockEmployeeService.createAll(input.getEmployees()));
+    }
+
+    /*
+     * Deletes by name up to MockEmployeeBatchInput.MAX_SIZE times at once; one flag per input, in input order.
+     */
+    @DeleteMapping("/batch")
+    public Response<List<Boolean>> deleteEmployees(
+            @Valid @RequestBody MockEmployeeBatchInput<DeleteMockEmployeeInput> input) {
+        return Response.handledWith(mockEmployeeService.deleteAll(input.getEmployees()));
+    }
 }
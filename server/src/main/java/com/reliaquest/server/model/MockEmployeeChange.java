@@ -0,0 +1,29 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+
+/**
+ * One employee created or deleted by the write that made the roster the given version.
+ *
+ * @param employee the employee as created, absent for deletes
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeeChange(long version, Type type, UUID id, MockEmployee employee) {
+
+    public static MockEmployeeChange created(long version, MockEmployee mockEmployee) {
+        return new MockEmployeeChange(version, Type.CREATED, mockEmployee.getId(), mockEmployee);
+    }
+
+    public static MockEmployeeChange deleted(long version, UUID id) {
+        return new MockEmployeeChange(version, Type.DELETED, id, null);
+    }
+
+    public enum Type {
+        /**
+         * Also replaces an employee saved again under its id.
+         */
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,13 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Changes after the roster version a client asked for, oldest first.
+ *
+ * @param epoch start time of the server; versions of different starts are unrelated
+ * @param version roster version the changes lead up to, to ask for the next changes from
+ * @param reset whether the changes could not be given: the client then reads the whole roster and follows the changes
+ *     from {@code version}
+ */
+public record MockEmployeeChanges(long epoch, long version, boolean reset, List<MockEmployeeChange> changes) {}
@@ -0,0 +1,10 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * @param nextCursor cursor of the next page, absent on the last page
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeePage(List<MockEmployee> employees, String nextCursor) {}
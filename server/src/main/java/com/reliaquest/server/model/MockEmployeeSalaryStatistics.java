@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * @param count number of employees with a salary; minimum, maximum and average are absent when it is zero
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeeSalaryStatistics(long count, Integer minSalary, Integer maxSalary, Double averageSalary) {}
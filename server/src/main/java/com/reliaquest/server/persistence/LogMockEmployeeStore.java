@@ -0,0 +1,467 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeStore;
+import com.reliaquest.server.roster.MockEmployeeRosterFile;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-ahead log and snapshots in one directory.
+ * <p>
+ * Every write is appended to the current log segment {@code wal-<n>.log} as a length-prefixed, checksummed record.
+ * Writers wait for durability after releasing the repository lock, and the first one to take the sync lock flushes and
+ * fsyncs everything appended so far, so concurrent writers share one fsync (group commit).
+ * <p>
+ * Once a segment grows past the snapshot threshold, a new segment is started and the roster as of that point is
+ * written in the background to {@code snapshot-<n>.bin}, which covers every segment before {@code n}; those segments
+ * and older snapshots are then deleted. Recovery loads the latest snapshot and replays the segments after it,
+ * truncating a record torn by a crash at the end of the last one.
+ */
+@Slf4j
+public class LogMockEmployeeStore implements MockEmployeeStore {
+
+    private static final Pattern SEGMENT = Pattern.compile("wal-(\\d{16})\\.log");
+
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d{16})\\.bin");
+
+    private static final String SEGMENT_NAME = "wal-%016d.log";
+
+    private static final String SNAPSHOT_NAME = "snapshot-%016d.bin";
+
+    private static final byte SAVED = 1;
+
+    private static final byte DELETED = 2;
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path directory;
+
+    private final boolean fsync;
+
+    private final long snapshotLogBytes;
+
+    private final ExecutorService snapshotWriter = Executors.newSingleThreadExecutor(runnable -> {
+        final var thread = new Thread(runnable, "snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean snapshotting = new AtomicBoolean();
+
+    /*
+     * Taken before the monitor of this store: a rotation must not close the channel a sync is forcing.
+     */
+    private final Object syncLock = new Object();
+
+    private volatile long durable;
+
+    /*
+     * Guarded by this.
+     */
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+
+    private final CRC32 checksum = new CRC32();
+
+    private long segment;
+
+    private long segmentBytes;
+
+    private long written;
+
+    private FileChannel channel;
+
+    private DataOutputStream out;
+
+    public LogMockEmployeeStore(Path directory, boolean fsync, long snapshotLogBytes) {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.snapshotLogBytes = snapshotLogBytes;
+    }
+
+    @Override
+    public boolean recover(Recovery recovery) {
+        try {
+            Files.createDirectories(directory);
+            final var snapshots = list(SNAPSHOT);
+            final var segments = list(SEGMENT);
+            final var started = System.nanoTime();
+            final long covered;
+            if (snapshots.isEmpty()) {
+                covered = 0;
+            } else {
+                covered = snapshots.lastKey();
+                final var roster = MockEmployeeRosterFile.read(snapshots.lastEntry().getValue());
+                recovery.saved(roster);
+                log.info("Loaded {} employees from {}", roster.size(), snapshots.lastEntry().getValue());
+            }
+            final var replayed = segments.tailMap(covered, true);
+            long records = 0;
+            for (var entry : replayed.entrySet()) {
+                records += replay(entry.getValue(), entry.getKey().equals(replayed.lastKey()), recovery);
+            }
+            log.info(
+                    "Replayed {} log records from {} segments in {} ms",
+                    records,
+                    replayed.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            segment = Math.max(covered, segments.isEmpty() ? 0 : segments.lastKey());
+            // Never append after a possibly torn record, every start writes a new segment.
+            rotate();
+            return !snapshots.isEmpty() || !segments.isEmpty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover the roster from " + directory, e);
+        }
+    }
+
+    @Override
+    public long logSaved(Collection<MockEmployee> mockEmployees) {
+        return append(SAVED, mockEmployees.size(), data -> {
+            for (MockEmployee mockEmployee : mockEmployees) {
+                writeEmployee(data, mockEmployee);
+            }
+        });
+    }
+
+    @Override
+    public long logDeleted(Collection<UUID> ids) {
+        return append(DELETED, ids.size(), data -> {
+            for (UUID id : ids) {
+                data.writeLong(id.getMostSignificantBits());
+                data.writeLong(id.getLeastSignificantBits());
+            }
+        });
+    }
+
+    @Override
+    public void awaitDurable(long position) {
+        if (position <= durable) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (position <= durable) {
+                return;
+            }
+            try {
+                final long target;
+                synchronized (this) {
+                    out.flush();
+                    target = written;
+                }
+                // Records appended while forcing are picked up by the next sync.
+                if (fsync) {
+                    channel.force(false);
+                }
+                durable = target;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not sync the log", e);
+            }
+        }
+    }
+
+    @Override
+    public void snapshot(Supplier<Stream<MockEmployee>> roster) {
+        try {
+            writeSnapshot(rotate(), roster);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write a snapshot to " + directory, e);
+        }
+    }
+
+    @Override
+    public void snapshotIfDue(Supplier<Stream<MockEmployee>> roster) {
+        synchronized (this) {
+            if (segmentBytes < snapshotLogBytes) {
+                return;
+            }
+        }
+        if (!snapshotting.compareAndSet(false, true)) {
+            return;
+        }
+        final long covered;
+        try {
+            covered = rotate();
+        } catch (IOException e) {
+            snapshotting.set(false);
+            throw new UncheckedIOException("Could not start a new log segment", e);
+        }
+        snapshotWriter.execute(() -> {
+            try {
+                writeSnapshot(covered, roster);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not write a snapshot, the log keeps growing until the next attempt", e);
+            } finally {
+                snapshotting.set(false);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        snapshotWriter.shutdown();
+        try {
+            if (!snapshotWriter.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Gave up waiting for the snapshot being written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (syncLock) {
+            synchronized (this) {
+                try {
+                    closeSegment();
+                } catch (IOException e) {
+                    log.warn("Could not close the log", e);
+                }
+            }
+        }
+    }
+
+    private synchronized long append(byte type, int count, RecordWriter payload) {
+        try {
+            record.reset();
+            final var data = new DataOutputStream(record);
+            data.writeByte(type);
+            data.writeInt(count);
+            payload.write(data);
+            checksum.reset();
+            checksum.update(record.toByteArray(), 0, record.size());
+            out.writeInt(record.size());
+            out.writeInt((int) checksum.getValue());
+            record.writeTo(out);
+            written += Integer.BYTES * 2 + record.size();
+            segmentBytes += Integer.BYTES * 2 + record.size();
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to the log", e);
+        }
+    }
+
+    /*
+     * Makes the current segment durable and starts the next one.
+     *
+     * @return the number of the new segment
+     */
+    private long rotate() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                closeSegment();
+                segment++;
+                segmentBytes = 0;
+                channel = FileChannel.open(
+                        directory.resolve(SEGMENT_NAME.formatted(segment)),
+                        StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.WRITE);
+                out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+                syncDirectory();
+                return segment;
+            }
+        }
+    }
+
+    /*
+     * Guarded by syncLock and this.
+     */
+    private void closeSegment() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        out.flush();
+        if (fsync) {
+            channel.force(false);
+        }
+        durable = written;
+        out.close();
+        channel = null;
+        out = null;
+    }
+
+    private void writeSnapshot(long covered, Supplier<Stream<MockEmployee>> roster) throws IOException {
+        final var started = System.nanoTime();
+        final var employees = roster.get().toList();
+        final var path = directory.resolve(SNAPSHOT_NAME.formatted(covered));
+        MockEmployeeRosterFile.write(path, employees);
+        syncDirectory();
+        for (var obsolete : list(SNAPSHOT).headMap(covered).values()) {
+            Files.deleteIfExists(obsolete);
+        }
+        for (var obsolete : list(SEGMENT).headMap(covered).values()) {
+            Files.deleteIfExists(obsolete);
+        }
+        log.info(
+                "Wrote a snapshot of {} employees to {} in {} ms",
+                employees.size(),
+                path,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /*
+     * Truncates a record torn at the end of the last segment: the next start writes a newer segment, after which this
+     * one is no longer the last and a torn record in it would be taken for corruption.
+     *
+     * @return the number of records replayed
+     */
+    private long replay(Path path, boolean last, Recovery recovery) throws IOException {
+        long records = 0;
+        final var size = Files.size(path);
+        var remaining = size;
+        long valid = 0;
+        try (final var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE))) {
+            final var crc = new CRC32();
+            while (remaining > 0) {
+                try {
+                    if (remaining < Integer.BYTES * 2) {
+                        throw new EOFException("truncated header");
+                    }
+                    final var length = in.readInt();
+                    final var expected = in.readInt();
+                    remaining -= Integer.BYTES * 2;
+                    if (length < 0 || length > remaining) {
+                        throw new EOFException("truncated record");
+                    }
+                    final var payload = new byte[length];
+                    in.readFully(payload);
+                    remaining -= length;
+                    crc.reset();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != expected) {
+                        throw new EOFException("checksum mismatch");
+                    }
+                    apply(new DataInputStream(new ByteArrayInputStream(payload)), recovery);
+                    records++;
+                    valid = size - remaining;
+                } catch (EOFException torn) {
+                    if (!last) {
+                        throw new IOException("Corrupt record " + records + " in " + path, torn);
+                    }
+                    log.warn("Dropping a record torn by a crash at the end of {}: {}", path, torn.getMessage());
+                    truncate(path, valid);
+                    return records;
+                }
+            }
+            return records;
+        }
+    }
+
+    private void truncate(Path path, long length) throws IOException {
+        try (final var segmentChannel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            segmentChannel.truncate(length);
+            if (fsync) {
+                segmentChannel.force(true);
+            }
+        }
+    }
+
+    private static void apply(DataInputStream data, Recovery recovery) throws IOException {
+        final var type = data.readByte();
+        final var count = data.readInt();
+        if (type == SAVED) {
+            final var employees = new ArrayList<MockEmployee>(count);
+            for (int i = 0; i < count; i++) {
+                employees.add(readEmployee(data));
+            }
+            recovery.saved(employees);
+        } else if (type == DELETED) {
+            final var ids = new ArrayList<UUID>(count);
+            for (int i = 0; i < count; i++) {
+                ids.add(new UUID(data.readLong(), data.readLong()));
+            }
+            recovery.deleted(ids);
+        } else {
+            throw new IOException("Unknown log record type " + type);
+        }
+    }
+
+    private TreeMap<Long, Path> list(Pattern pattern) throws IOException {
+        final var files = new TreeMap<Long, Path>();
+        try (final var paths = Files.list(directory)) {
+            paths.forEach(path -> {
+                final var matcher = pattern.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    files.put(Long.parseLong(matcher.group(1)), path);
+                }
+            });
+        }
+        return files;
+    }
+
+    /*
+     * Makes created and renamed files durable; not every platform can open a directory, which is then skipped.
+     */
+    private void syncDirectory() {
+        if (!fsync) {
+            return;
+        }
+        try (final var directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException unsupported) {
+            log.debug("Could not sync {}: {}", directory, unsupported.getMessage());
+        }
+    }
+
+    private static void writeEmployee(DataOutputStream data, MockEmployee mockEmployee) throws IOException {
+        data.writeLong(mockEmployee.getId().getMostSignificantBits());
+        data.writeLong(mockEmployee.getId().getLeastSignificantBits());
+        writeString(data, mockEmployee.getName());
+        data.writeInt(mockEmployee.getSalary() == null ? NULL_INT : mockEmployee.getSalary());
+        data.writeInt(mockEmployee.getAge() == null ? NULL_INT : mockEmployee.getAge());
+        writeString(data, mockEmployee.getTitle());
+        writeString(data, mockEmployee.getEmail());
+    }
+
+    private static MockEmployee readEmployee(DataInputStream data) throws IOException {
+        final var id = new UUID(data.readLong(), data.readLong());
+        final var name = readString(data);
+        final var salary = data.readInt();
+        final var age = data.readInt();
+        final var title = readString(data);
+        final var email = readString(data);
+        return new MockEmployee(
+                id, name, salary == NULL_INT ? null : salary, age == NULL_INT ? null : age, title, email);
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        data.writeBoolean(value != null);
+        if (value != null) {
+            data.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        return data.readBoolean() ? data.readUTF() : null;
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+
+        void write(DataOutputStream data) throws IOException;
+    }
+}
@@ -0,0 +1,256 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Version of the roster and the changes that led to it. Every write that changes the roster makes it one version newer
+ * and is recorded as one change per employee created or deleted.
+ * <p>
+ * Writes are recorded by the store {@link #recording(MockEmployeeStore)} returns, which the repository logs to under
+ * its write lock: versions follow the order writes were applied in. A write becomes a change only once the underlying
+ * store accepted it, and is only visible from {@link MockEmployeeStore#snapshotIfDue(Supplier)} on, once the roster
+ * includes it. Only the latest {@code retained} changes are kept; a client behind them reads the roster again.
+ */
+public final class MockEmployeeChangeLog {
+
+    private final int retained;
+
+    private volatile RosterVersion version;
+
+    /*
+     * Guarded by this, oldest first.
+     */
+    private final ArrayDeque<MockEmployeeChange> changes = new ArrayDeque<>();
+
+    /*
+     * Guarded by this: writes the store accepted that the roster does not include yet.
+     */
+    private final List<AcceptedWrite> accepted = new ArrayList<>();
+
+    /*
+     * Guarded by this: every change after this version is retained.
+     */
+    private long horizon;
+
+    /*
+     * Guarded by this: long polls waiting for the next write, each removed once it completes or times out.
+     */
+    private final Set<CompletableFuture<Void>> waiters = new HashSet<>();
+
+    public MockEmployeeChangeLog(int retained) {
+        if (retained < 1) {
+            throw new IllegalArgumentException("retained must be positive");
+        }
+        this.retained = retained;
+        this.version = RosterVersion.initial();
+    }
+
+    public RosterVersion version() {
+        return version;
+    }
+
+    /**
+     * @return a store recording every write before passing it on to the given store
+     */
+    public MockEmployeeStore recording(MockEmployeeStore store) {
+        return new Recording(store);
+    }
+
+    /**
+     * @param since version of the client's roster, null when it has none yet
+     * @param epoch epoch of that version, null when unknown
+     * @return the changes after the given version, or a reset when they are no longer retained or the version is not
+     *     one of this log
+     */
+    public synchronized MockEmployeeChanges changesSince(Long since, Long epoch) {
+        final var current = version;
+        if (since == null
+                || (epoch != null && epoch != current.epoch())
+                || since < horizon
+                || since > current.version()) {
+            return new MockEmployeeChanges(current.epoch(), current.version(), true, List.of());
+        }
+        final var newer = new ArrayList<MockEmployeeChange>();
+        for (final var iterator = changes.descendingIterator(); iterator.hasNext(); ) {
+            final var change = iterator.next();
+            if (change.version() <= since) {
+                break;
+            }
+            newer.add(change);
+        }
+        Collections.reverse(newer);
+        return new MockEmployeeChanges(current.epoch(), current.version(), false, newer);
+    }
+
+    /**
+     * Like {@link #changesSince(Long, Long)}, but when there are no changes yet completes with the first ones written
+     * within the given wait, or with none once it has passed.
+     */
+    public CompletableFuture<MockEmployeeChanges> awaitChangesSince(Long since, Long epoch, Duration wait) {
+        if (wait.isZero() || wait.isNegative()) {
+            return CompletableFuture.completedFuture(changesSince(since, epoch));
+        }
+        // Registered before reading the changes, so a write in between completes it right away.
+        final var waiter = new CompletableFuture<Void>();
+        synchronized (this) {
+            waiters.add(waiter);
+        }
+        final var changes = changesSince(since, epoch);
+        if (changes.reset() || !changes.changes().isEmpty()) {
+            removeWaiter(waiter);
+            return CompletableFuture.completedFuture(changes);
+        }
+        waiter.whenComplete((ignored, failure) -> removeWaiter(waiter));
+        // Writers complete waiters under the repository lock, so reading the changes is left to another thread.
+        return waiter.completeOnTimeout(null, wait.toNanos(), TimeUnit.NANOSECONDS)
+                .thenApplyAsync(ignored -> changesSince(since, epoch));
+    }
+
+    /*
+     * Called once the store accepted a write, which is then not part of the roster yet.
+     */
+    private synchronized void accepted(AcceptedWrite write) {
+        if (!write.saved().isEmpty() || !write.deleted().isEmpty()) {
+            accepted.add(write);
+        }
+    }
+
+    /*
+     * Called once the roster includes every accepted write: makes them visible as changes, one version each.
+     */
+    private synchronized void applied() {
+        if (accepted.isEmpty()) {
+            return;
+        }
+        var next = version;
+        for (AcceptedWrite write : accepted) {
+            next = next.next();
+            for (MockEmployee mockEmployee : write.saved()) {
+                changes.addLast(MockEmployeeChange.created(next.version(), mockEmployee));
+            }
+            for (UUID id : write.deleted()) {
+                changes.addLast(MockEmployeeChange.deleted(next.version(), id));
+            }
+        }
+        accepted.clear();
+        publish(next);
+    }
+
+    /*
+     * Guarded by this.
+     */
+    private void publish(RosterVersion next) {
+        while (changes.size() > retained) {
+            horizon = changes.removeFirst().version();
+        }
+        version = next;
+        final var completed = List.copyOf(waiters);
+        waiters.clear();
+        completed.forEach(waiter -> waiter.complete(null));
+    }
+
+    synchronized int waiting() {
+        return waiters.size();
+    }
+
+    private synchronized void removeWaiter(CompletableFuture<Void> waiter) {
+        waiters.remove(waiter);
+    }
+
+    /**
+     * Monotonic version of the roster, counted from 0 on every start; the epoch, the start time, tells versions of
+     * different runs apart.
+     */
+    public record RosterVersion(long epoch, long version, Instant lastModified) {
+
+        static RosterVersion initial() {
+            final var now = Instant.now();
+            return new RosterVersion(now.toEpochMilli(), 0, now);
+        }
+
+        /**
+         * Strong entity tag of the roster at this version.
+         */
+        public String eTag() {
+            return "\"%x-%d\"".formatted(epoch, version);
+        }
+
+        RosterVersion next() {
+            final var now = Instant.now();
+            return new RosterVersion(epoch, version + 1, now.isAfter(lastModified) ? now : lastModified);
+        }
+    }
+
+    private record AcceptedWrite(List<MockEmployee> saved, List<UUID> deleted) {}
+
+    private final class Recording implements MockEmployeeStore {
+
+        private final MockEmployeeStore store;
+
+        Recording(MockEmployeeStore store) {
+            this.store = store;
+        }
+
+        /*
+         * Replayed writes are part of the roster the log starts from, not changes.
+         */
+        @Override
+        public boolean recover(Recovery recovery) {
+            return store.recover(recovery);
+        }
+
+        /*
+         * Only a write the store accepted becomes a change, and only once the repository applied it.
+         */
+        @Override
+        public long logSaved(Collection<MockEmployee> mockEmployees) {
+            final var position = store.logSaved(mockEmployees);
+            accepted(new AcceptedWrite(List.copyOf(mockEmployees), List.of()));
+            return position;
+        }
+
+        @Override
+        public long logDeleted(Collection<UUID> ids) {
+            final var position = store.logDeleted(ids);
+            accepted(new AcceptedWrite(List.of(), List.copyOf(ids)));
+            return position;
+        }
+
+        @Override
+        public void awaitDurable(long position) {
+            store.awaitDurable(position);
+        }
+
+        @Override
+        public void snapshot(Supplier<Stream<MockEmployee>> roster) {
+            store.snapshot(roster);
+        }
+
+        @Override
+        public void snapshotIfDue(Supplier<Stream<MockEmployee>> roster) {
+            applied();
+            store.snapshotIfDue(roster);
+        }
+
+        @Override
+        public void close() {
+            store.close();
+        }
+    }
+}
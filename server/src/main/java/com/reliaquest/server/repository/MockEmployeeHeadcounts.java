@@ -0,0 +1,52 @@
+package com.reliaquest.server.repository;
+
+import static com.reliaquest.server.repository.MockEmployeeStatistics.AGE_BAND_WIDTH;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Headcounts by title and age band, shared by both repositories. Mutators are only called under the repository's
+ * write lock; reads never lock and may see a batch write partially applied.
+ */
+final class MockEmployeeHeadcounts {
+
+    private final ConcurrentHashMap<String, Long> countsByTitle = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Integer, Long> countsByAgeBand = new ConcurrentHashMap<>();
+
+    Map<String, Long> countsByTitle() {
+        return new TreeMap<>(countsByTitle);
+    }
+
+    Map<String, Long> countsByAgeBand() {
+        final var counts = new LinkedHashMap<String, Long>();
+        new TreeMap<>(countsByAgeBand)
+                .forEach((band, count) -> counts.put(band + "-" + (band + AGE_BAND_WIDTH - 1), count));
+        return counts;
+    }
+
+    void add(String title, Integer age) {
+        if (title != null) {
+            countsByTitle.merge(title, 1L, Long::sum);
+        }
+        if (age != null) {
+            countsByAgeBand.merge(ageBand(age), 1L, Long::sum);
+        }
+    }
+
+    void remove(String title, Integer age) {
+        if (title != null) {
+            countsByTitle.computeIfPresent(title, (ignored, count) -> count > 1 ? count - 1 : null);
+        }
+        if (age != null) {
+            countsByAgeBand.computeIfPresent(ageBand(age), (band, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private static int ageBand(int age) {
+        return Math.floorDiv(age, AGE_BAND_WIDTH) * AGE_BAND_WIDTH;
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Roster of mock employees in insertion order, indexed by id and by case-insensitive name. Reads never block on writes
+ * and see a complete point-in-time roster; writes are serialized and logged to a {@link MockEmployeeStore}.
+ * <p>
+ * Every employee gets an increasing insertion sequence number, which is the cursor of {@link #findPageAfter(long, int)}:
+ * unlike offsets, cursors stay valid while employees before them are deleted.
+ */
+public interface MockEmployeeRepository {
+
+    List<MockEmployee> findAll();
+
+    /**
+     * Lazily walks the current roster without copying it.
+     */
+    Stream<MockEmployee> stream();
+
+    MockEmployeePage findPage(int offset, int limit);
+
+    MockEmployeePage findPageAfter(long cursor, int limit);
+
+    int count();
+
+    /**
+     * Salary statistics, top earners and headcounts, maintained on every write.
+     */
+    MockEmployeeStatistics statistics();
+
+    Optional<MockEmployee> findById(UUID uuid);
+
+    default void save(MockEmployee mockEmployee) {
+        saveAll(List.of(mockEmployee));
+    }
+
+    /**
+     * Appends the given employees in order; an employee whose id is already present replaces it in place. Returns once
+     * the write is durable.
+     */
+    void saveAll(Collection<MockEmployee> mockEmployees);
+
+    default boolean delete(MockEmployee mockEmployee) {
+        return deleteById(mockEmployee.getId()).isPresent();
+    }
+
+    Optional<MockEmployee> deleteById(UUID uuid);
+
+    /**
+     * Atomically finds and removes the first inserted employee with the given name, ignoring case.
+     */
+    default Optional<MockEmployee> deleteFirstByName(String name) {
+        return deleteFirstByNames(List.of(name)).get(0);
+    }
+
+    /**
+     * Applies {@link #deleteFirstByName(String)} to every name in order under a single lock, publishing one roster for
+     * the whole batch; a name listed twice removes the first two employees with that name.
+     */
+    List<Optional<MockEmployee>> deleteFirstByNames(List<String> names);
+
+    /**
+     * How the roster is held in memory, chosen with {@code mock.employees.layout}.
+     */
+    enum Layout {
+        /**
+         * {@link ObjectMockEmployeeRepository}: the employees as saved, fastest to read.
+         */
+        OBJECTS,
+        /**
+         * {@link ColumnarMockEmployeeRepository}: primitive columns, a fraction of the heap for large rosters.
+         */
+        COLUMNAR;
+
+        public MockEmployeeRepository create(List<MockEmployee> mockEmployees, MockEmployeeStore store) {
+            return switch (this) {
+                case OBJECTS -> new ObjectMockEmployeeRepository(mockEmployees, store);
+                case COLUMNAR -> new ColumnarMockEmployeeRepository(mockEmployees, store);
+            };
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeSalaryStatistics;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates over the roster that a {@link MockEmployeeRepository} maintains on every write, so they are answered
+ * without materializing the roster.
+ */
+public interface MockEmployeeStatistics {
+
+    int AGE_BAND_WIDTH = 10;
+
+    MockEmployeeSalaryStatistics salaryStatistics();
+
+    /**
+     * @return up to {@code limit} employees, highest salary first, equal salaries in insertion order
+     */
+    List<MockEmployee> topEarners(int limit);
+
+    /**
+     * @return headcount by title, sorted by title
+     */
+    Map<String, Long> countsByTitle();
+
+    /**
+     * @return headcount by age band such as {@code "20-29"}, youngest band first
+     */
+    Map<String, Long> countsByAgeBand();
+}
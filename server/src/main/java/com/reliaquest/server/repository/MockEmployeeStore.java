@@ -0,0 +1,67 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Durable storage under {@link MockEmployeeRepository}. The repository logs every write while holding its write lock,
+ * so the log order is the order writes were applied in, and before applying it, so a write that could not be logged
+ * is never seen. It waits for {@link #awaitDurable(long)} only after releasing the lock, so concurrent writers can
+ * share a single sync. {@link #NONE} keeps the roster in memory only.
+ */
+public interface MockEmployeeStore extends Closeable {
+
+    MockEmployeeStore NONE = new MockEmployeeStore() {};
+
+    /**
+     * Replays the stored roster into the repository: the latest snapshot as one save, then every logged write since.
+     *
+     * @return false when nothing was stored, the repository is then seeded and {@link #snapshot(Supplier)} called
+     */
+    default boolean recover(Recovery recovery) {
+        return false;
+    }
+
+    /**
+     * @return a position to pass to {@link #awaitDurable(long)}
+     */
+    default long logSaved(Collection<MockEmployee> mockEmployees) {
+        return 0;
+    }
+
+    default long logDeleted(Collection<UUID> ids) {
+        return 0;
+    }
+
+    /**
+     * Blocks until everything logged up to the given position survives a crash.
+     */
+    default void awaitDurable(long position) {}
+
+    /**
+     * Writes a snapshot of the given roster, which must include every logged write, before returning.
+     */
+    default void snapshot(Supplier<Stream<MockEmployee>> roster) {}
+
+    /**
+     * Called after every logged write, still under the write lock, so the roster matches the log exactly. A store may
+     * start a new log segment and write the roster as a snapshot in the background, the roster being immutable, and a
+     * decorator may publish what it recorded of the write.
+     */
+    default void snapshotIfDue(Supplier<Stream<MockEmployee>> roster) {}
+
+    @Override
+    default void close() {}
+
+    interface Recovery {
+
+        void saved(List<MockEmployee> mockEmployees);
+
+        void deleted(List<UUID> ids);
+    }
+}
@@ -0,0 +1,459 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import lombok.NonNull;
+
+/**
+ * Roster holding the saved {@link MockEmployee} instances, indexed by id and by case-insensitive name, both O(1), while
+ * {@link #findAll()} keeps returning employees in insertion order.
+ * <p>
+ * Reads never lock: {@link #findAll()} walks an immutable {@link Roster} published through a volatile field, so it
+ * always sees a complete point-in-time roster, and {@link #findById(UUID)} reads a concurrent map. Writes are
+ * serialized by a lock and publish a new roster that shares every chunk of employees but the one they changed, so a
+ * write copies at most {@value #CHUNK_SIZE} references plus the chunk table.
+ * <p>
+ * Every write is logged to the {@link MockEmployeeStore} before it is applied, so a write the store rejects is never
+ * seen, and returns once it is durable; by default the store keeps nothing and the roster lives in memory only.
+ */
+public class ObjectMockEmployeeRepository implements MockEmployeeRepository {
+
+    static final int CHUNK_SIZE = 1024;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final ConcurrentHashMap<UUID, Slot> slotsById = new ConcurrentHashMap<>();
+
+    /*
+     * Employees sharing a name, in insertion order, so the first one inserted is always the first one found.
+     * Guarded by writeLock.
+     */
+    private final Map<String, LinkedHashMap<UUID, MockEmployee>> employeesByName = new HashMap<>();
+
+    private final ObjectMockEmployeeStatistics statistics = new ObjectMockEmployeeStatistics();
+
+    private final MockEmployeeStore store;
+
+    private volatile Roster roster = Roster.EMPTY;
+
+    /*
+     * Guarded by writeLock.
+     */
+    private long nextSequence = 1;
+
+    public ObjectMockEmployeeRepository(List<MockEmployee> mockEmployees) {
+        this(mockEmployees, MockEmployeeStore.NONE);
+    }
+
+    /**
+     * Starts from the roster recovered from the store, or from the given roster when the store is empty.
+     */
+    public ObjectMockEmployeeRepository(List<MockEmployee> mockEmployees, MockEmployeeStore store) {
+        this.store = store;
+        writeLock.lock();
+        try {
+            final var recovered = store.recover(new MockEmployeeStore.Recovery() {
+                @Override
+                public void saved(List<MockEmployee> saved) {
+                    apply(saved);
+                }
+
+                @Override
+                public void deleted(List<UUID> ids) {
+                    final var builder = roster.toBuilder();
+                    ids.forEach(id -> remove(id, builder));
+                    publish(builder);
+                }
+            });
+            if (!recovered) {
+                apply(mockEmployees);
+                store.snapshot(roster::stream);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<MockEmployee> findAll() {
+        return roster.toList();
+    }
+
+    @Override
+    public Stream<MockEmployee> stream() {
+        return roster.stream();
+    }
+
+    @Override
+    public MockEmployeePage findPage(int offset, int limit) {
+        return roster.page(roster.positionOf(offset), limit);
+    }
+
+    @Override
+    public MockEmployeePage findPageAfter(long cursor, int limit) {
+        return roster.page(roster.positionAfter(cursor), limit);
+    }
+
+    @Override
+    public int count() {
+        return roster.size();
+    }
+
+    @Override
+    public MockEmployeeStatistics statistics() {
+        return statistics;
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        final var slot = slotsById.get(uuid);
+        return slot == null ? Optional.empty() : Optional.of(slot.employee());
+    }
+
+    @Override
+    public void saveAll(@NonNull Collection<MockEmployee> mockEmployees) {
+        final long position;
+        mockEmployees.forEach(mockEmployee -> Objects.requireNonNull(mockEmployee.getId(), "id"));
+        writeLock.lock();
+        try {
+            position = store.logSaved(mockEmployees);
+            apply(mockEmployees);
+            store.snapshotIfDue(roster::stream);
+        } finally {
+            writeLock.unlock();
+        }
+        store.awaitDurable(position);
+    }
+
+    @Override
+    public Optional<MockEmployee> deleteById(@NonNull UUID uuid) {
+        final MockEmployee removed;
+        long position = 0;
+        writeLock.lock();
+        try {
+            if (slotsById.containsKey(uuid)) {
+                position = store.logDeleted(List.of(uuid));
+                removed = remove(uuid);
+                store.snapshotIfDue(roster::stream);
+            } else {
+                removed = null;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        store.awaitDurable(position);
+        return Optional.ofNullable(removed);
+    }
+
+    @Override
+    public List<Optional<MockEmployee>> deleteFirstByNames(@NonNull List<String> names) {
+        final var removed = new ArrayList<Optional<MockEmployee>>(names.size());
+        long position = 0;
+        writeLock.lock();
+        try {
+            // Resolved before logging, skipping employees an earlier name of the batch already takes.
+            final var removedIds = new LinkedHashSet<UUID>();
+            for (String name : names) {
+                final var sameName = employeesByName.get(nameKey(name));
+                final var first = sameName == null
+                        ? Optional.<MockEmployee>empty()
+                        : sameName.values().stream()
+                                .filter(mockEmployee -> !removedIds.contains(mockEmployee.getId()))
+                                .findFirst();
+                first.ifPresent(mockEmployee -> removedIds.add(mockEmployee.getId()));
+                removed.add(first);
+            }
+            if (!removedIds.isEmpty()) {
+                position = store.logDeleted(removedIds);
+                final var builder = roster.toBuilder();
+                removedIds.forEach(id -> remove(id, builder));
+                publish(builder);
+                store.snapshotIfDue(roster::stream);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        store.awaitDurable(position);
+        return removed;
+    }
+
+    /*
+     * Guarded by writeLock.
+     */
+    private void apply(Collection<MockEmployee> mockEmployees) {
+        final var builder = roster.toBuilder();
+        for (MockEmployee mockEmployee : mockEmployees) {
+            Objects.requireNonNull(mockEmployee.getId(), "id");
+            final var existing = slotsById.get(mockEmployee.getId());
+            final Slot slot;
+            if (existing != null) {
+                unindexName(existing.employee());
+                statistics.remove(existing.sequence(), existing.employee());
+                slot = new Slot(new Entry(existing.sequence(), mockEmployee), existing.chunk());
+                builder.replace(existing.chunk(), existing.entry(), slot.entry());
+            } else {
+                final var entry = new Entry(nextSequence++, mockEmployee);
+                slot = new Slot(entry, builder.append(entry));
+            }
+            indexName(mockEmployee);
+            statistics.add(slot.sequence(), mockEmployee);
+            slotsById.put(mockEmployee.getId(), slot);
+        }
+        publish(builder);
+    }
+
+    /*
+     * Guarded by writeLock.
+     */
+    private MockEmployee remove(UUID uuid) {
+        final var builder = roster.toBuilder();
+        final var removed = remove(uuid, builder);
+        if (removed != null) {
+            publish(builder);
+        }
+        return removed;
+    }
+
+    /*
+     * Guarded by writeLock. Chunk positions stay valid until the builder is published.
+     */
+    private MockEmployee remove(UUID uuid, Roster.Builder builder) {
+        final var slot = slotsById.remove(uuid);
+        if (slot == null) {
+            return null;
+        }
+        unindexName(slot.employee());
+        statistics.remove(slot.sequence(), slot.employee());
+        builder.remove(slot.chunk(), slot.entry());
+        return slot.employee();
+    }
+
+    /*
+     * Guarded by writeLock. Deletes leave chunks partially filled; once they hold less than half of their capacity
+     * on average the roster is rebuilt from full chunks and every slot is repointed.
+     */
+    private void publish(Roster.Builder builder) {
+        var published = builder.build();
+        if (published.chunkCount() > 2 * (published.size() / CHUNK_SIZE + 1)) {
+            final var compacted = Roster.EMPTY.toBuilder();
+            for (Entry entry : published.entries()) {
+                slotsById.put(entry.employee().getId(), new Slot(entry, compacted.append(entry)));
+            }
+            published = compacted.build();
+        }
+        roster = published;
+    }
+
+    private void indexName(MockEmployee mockEmployee) {
+        if (mockEmployee.getName() != null) {
+            employeesByName
+                    .computeIfAbsent(nameKey(mockEmployee.getName()), ignored -> new LinkedHashMap<>())
+                    .put(mockEmployee.getId(), mockEmployee);
+        }
+    }
+
+    private void unindexName(MockEmployee mockEmployee) {
+        if (mockEmployee.getName() == null) {
+            return;
+        }
+        final var key = nameKey(mockEmployee.getName());
+        final var sameName = employeesByName.get(key);
+        if (sameName != null) {
+            sameName.remove(mockEmployee.getId());
+            if (sameName.isEmpty()) {
+                employeesByName.remove(key);
+            }
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(long sequence, MockEmployee employee) {}
+
+    private record Slot(Entry entry, int chunk) {
+
+        MockEmployee employee() {
+            return entry.employee();
+        }
+
+        long sequence() {
+            return entry.sequence();
+        }
+    }
+
+    /**
+     * Position of an entry in a roster: chunk and index within the chunk.
+     */
+    private record Position(int chunk, int index) {}
+
+    /**
+     * Immutable roster split into chunks of at most {@value #CHUNK_SIZE} entries, in increasing sequence order.
+     */
+    private record Roster(Entry[][] chunks, int size) {
+
+        static final Roster EMPTY = new Roster(new Entry[0][], 0);
+
+        int chunkCount() {
+            return chunks.length;
+        }
+
+        List<Entry> entries() {
+            final var entries = new ArrayList<Entry>(size);
+            for (Entry[] chunk : chunks) {
+                entries.addAll(Arrays.asList(chunk));
+            }
+            return entries;
+        }
+
+        List<MockEmployee> toList() {
+            final var employees = new ArrayList<MockEmployee>(size);
+            for (Entry[] chunk : chunks) {
+                for (Entry entry : chunk) {
+                    employees.add(entry.employee());
+                }
+            }
+            return employees;
+        }
+
+        Stream<MockEmployee> stream() {
+            return Arrays.stream(chunks).flatMap(Arrays::stream).map(Entry::employee);
+        }
+
+        Position positionOf(int offset) {
+            int remaining = offset;
+            for (int chunk = 0; chunk < chunks.length; chunk++) {
+                if (remaining < chunks[chunk].length) {
+                    return new Position(chunk, remaining);
+                }
+                remaining -= chunks[chunk].length;
+            }
+            return new Position(chunks.length, 0);
+        }
+
+        Position positionAfter(long sequence) {
+            for (int chunk = 0; chunk < chunks.length; chunk++) {
+                final var entries = chunks[chunk];
+                if (entries.length > 0 && entries[entries.length - 1].sequence() > sequence) {
+                    int low = 0;
+                    int high = entries.length - 1;
+                    while (low < high) {
+                        final int middle = (low + high) >>> 1;
+                        if (entries[middle].sequence() > sequence) {
+                            high = middle;
+                        } else {
+                            low = middle + 1;
+                        }
+                    }
+                    return new Position(chunk, low);
+                }
+            }
+            return new Position(chunks.length, 0);
+        }
+
+        MockEmployeePage page(Position start, int limit) {
+            final var employees = new ArrayList<MockEmployee>(Math.min(limit, size));
+            long lastSequence = 0;
+            int chunk = start.chunk();
+            int index = start.index();
+            while (chunk < chunks.length) {
+                if (index >= chunks[chunk].length) {
+                    chunk++;
+                    index = 0;
+                } else if (employees.size() < limit) {
+                    final var entry = chunks[chunk][index++];
+                    employees.add(entry.employee());
+                    lastSequence = entry.sequence();
+                } else {
+                    break;
+                }
+            }
+            final var hasMore = chunk < chunks.length && !employees.isEmpty();
+            return new MockEmployeePage(employees, hasMore ? String.valueOf(lastSequence) : null);
+        }
+
+        Builder toBuilder() {
+            return new Builder(this);
+        }
+
+        /**
+         * Copies a chunk the first time it is changed and leaves all other chunks shared with the source roster.
+         */
+        static final class Builder {
+
+            private final List<Entry[]> chunks;
+            private final Map<Integer, List<Entry>> changedChunks = new HashMap<>();
+            private int size;
+
+            private Builder(Roster roster) {
+                this.chunks = new ArrayList<>(Arrays.asList(roster.chunks()));
+                this.size = roster.size();
+            }
+
+            /**
+             * @return the chunk the entry was appended to
+             */
+            int append(Entry entry) {
+                int last = chunks.size() - 1;
+                if (last < 0 || chunkSize(last) >= CHUNK_SIZE) {
+                    chunks.add(new Entry[0]);
+                    last++;
+                }
+                changed(last).add(entry);
+                size++;
+                return last;
+            }
+
+            void replace(int chunk, Entry existing, Entry replacement) {
+                final var entries = changed(chunk);
+                entries.set(indexOf(entries, existing), replacement);
+            }
+
+            void remove(int chunk, Entry existing) {
+                final var entries = changed(chunk);
+                entries.remove(indexOf(entries, existing));
+                size--;
+            }
+
+            Roster build() {
+                changedChunks.forEach((chunk, entries) -> chunks.set(chunk, entries.toArray(new Entry[0])));
+                return new Roster(chunks.toArray(new Entry[0][]), size);
+            }
+
+            private int chunkSize(int chunk) {
+                final var entries = changedChunks.get(chunk);
+                return entries != null ? entries.size() : chunks.get(chunk).length;
+            }
+
+            private List<Entry> changed(int chunk) {
+                return changedChunks.computeIfAbsent(chunk, ignored -> new ArrayList<>(Arrays.asList(chunks.get(chunk))));
+            }
+
+            private static int indexOf(List<Entry> entries, Entry entry) {
+                for (int i = 0; i < entries.size(); i++) {
+                    if (entries.get(i) == entry) {
+                        return i;
+                    }
+                }
+                throw new IllegalStateException(
+                        "Employee " + entry.employee().getId() + " is not in its indexed chunk.");
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeSalaryStatistics;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Statistics of {@link ObjectMockEmployeeRepository}: top earners in O(log n + k), the rest in O(1) or O(number of
+ * titles).
+ * <p>
+ * Mutators are only called under the repository's write lock. Reads never lock and may see a batch write partially
+ * applied.
+ */
+final class ObjectMockEmployeeStatistics implements MockEmployeeStatistics {
+
+    /*
+     * Highest salary first, equal salaries in insertion order.
+     */
+    private final ConcurrentSkipListMap<SalaryKey, MockEmployee> bySalary = new ConcurrentSkipListMap<>(
+            Comparator.comparingInt(SalaryKey::salary).reversed().thenComparingLong(SalaryKey::sequence));
+
+    private final MockEmployeeHeadcounts headcounts = new MockEmployeeHeadcounts();
+
+    private volatile SalaryTotals salaryTotals = new SalaryTotals(0, 0);
+
+    @Override
+    public MockEmployeeSalaryStatistics salaryStatistics() {
+        final var totals = salaryTotals;
+        final var highest = bySalary.firstEntry();
+        final var lowest = bySalary.lastEntry();
+        if (totals.count() == 0 || highest == null || lowest == null) {
+            return new MockEmployeeSalaryStatistics(0, null, null, null);
+        }
+        return new MockEmployeeSalaryStatistics(
+                totals.count(),
+                lowest.getKey().salary(),
+                highest.getKey().salary(),
+                (double) totals.sum() / totals.count());
+    }
+
+    @Override
+    public List<MockEmployee> topEarners(int limit) {
+        final var top = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        for (var iterator = bySalary.values().iterator(); iterator.hasNext() && top.size() < limit; ) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    @Override
+    public Map<String, Long> countsByTitle() {
+        return headcounts.countsByTitle();
+    }
+
+    @Override
+    public Map<String, Long> countsByAgeBand() {
+        return headcounts.countsByAgeBand();
+    }
+
+    void add(long sequence, MockEmployee mockEmployee) {
+        if (mockEmployee.getSalary() != null) {
+            bySalary.put(new SalaryKey(mockEmployee.getSalary(), sequence), mockEmployee);
+            final var totals = salaryTotals;
+            salaryTotals = new SalaryTotals(totals.sum() + mockEmployee.getSalary(), totals.count() + 1);
+        }
+        headcounts.add(mockEmployee.getTitle(), mockEmployee.getAge());
+    }
+
+    void remove(long sequence, MockEmployee mockEmployee) {
+        if (mockEmployee.getSalary() != null
+                && bySalary.remove(new SalaryKey(mockEmployee.getSalary(), sequence)) != null) {
+            final var totals = salaryTotals;
+            salaryTotals = new SalaryTotals(totals.sum() - mockEmployee.getSalary(), totals.count() - 1);
+        }
+        headcounts.remove(mockEmployee.getTitle(), mockEmployee.getAge());
+    }
+
+    private record SalaryKey(int salary, long sequence) {}
+
+    private record SalaryTotals(long sum, long count) {}
+}
@@ -0,0 +1,98 @@
+package com.reliaquest.server.roster;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+
+/**
+ * Generates rosters of any size in seconds. Resolving datafaker expressions costs microseconds per call, so first and
+ * last names and titles are sampled from datafaker once into vocabularies, and employees are then composed from those
+ * in parallel chunks. Emails are built from the name and the row, so they stay distinct however large the roster.
+ * Every chunk draws from its own generator derived from the seed, so the same seed yields the same roster whatever
+ * the number of cores.
+ */
+public final class MockEmployeeGenerator {
+
+    static final int CHUNK_SIZE = 16_384;
+
+    private static final int VOCABULARY_SIZE = 2_048;
+
+    private static final Pattern NOT_LOCAL_PART = Pattern.compile("[^a-z0-9]");
+
+    private final long seed;
+
+    private final String[] firstNames;
+
+    private final String[] lastNames;
+
+    private final String[] titles;
+
+    public MockEmployeeGenerator(Locale locale, long seed) {
+        this.seed = seed;
+        final var faker = new Faker(locale, new Random(seed));
+        this.firstNames = vocabulary(() -> faker.name().firstName());
+        this.lastNames = vocabulary(() -> faker.name().lastName());
+        this.titles = vocabulary(() -> faker.job().title());
+    }
+
+    public List<MockEmployee> generate(int size) {
+        final var employees = new MockEmployee[size];
+        final var chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            final var random = new SplittableRandom(seed ^ (chunk * 0x9E3779B97F4A7C15L));
+            final var end = Math.min(size, (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                employees[i] = employee(i, random);
+            }
+        });
+        return new ArrayList<>(Arrays.asList(employees));
+    }
+
+    private MockEmployee employee(int row, SplittableRandom random) {
+        final var firstName = pick(firstNames, random);
+        final var lastName = pick(lastNames, random);
+        return MockEmployee.builder()
+                .id(uuid(random))
+                .name(firstName + " " + lastName)
+                .salary(random.nextInt(30000, 500000))
+                .age(random.nextInt(16, 70))
+                .title(pick(titles, random))
+                .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        localPart(firstName) + "." + localPart(lastName) + row))
+                .build();
+    }
+
+    /*
+     * Lower case letters and digits only, since names may hold spaces, apostrophes and accents.
+     */
+    private static String localPart(String name) {
+        return NOT_LOCAL_PART.matcher(name.toLowerCase(Locale.ROOT)).replaceAll("");
+    }
+
+    /*
+     * A version 4 UUID, like UUID.randomUUID() but from the seeded generator.
+     */
+    private static UUID uuid(SplittableRandom random) {
+        final var mostSignificant = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final var leastSignificant = (random.nextLong() & ~(0xC000000000000000L)) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    private static String pick(String[] vocabulary, SplittableRandom random) {
+        return vocabulary[random.nextInt(vocabulary.length)];
+    }
+
+    private static String[] vocabulary(Supplier<String> word) {
+        return IntStream.range(0, VOCABULARY_SIZE).mapToObj(ignored -> word.get()).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,141 @@
+package com.reliaquest.server.roster;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact binary roster: a header, the distinct titles once, then one fixed-layout record per employee with the id as
+ * two longs and the title as an index into the titles. A million employees take about 70 MB, less when gzipped because
+ * the file name ends with {@code .gz}, and load without reflection or JSON parsing.
+ */
+public final class MockEmployeeRosterFile {
+
+    private static final int MAGIC = 0x4D454D52; // MEMR
+
+    private static final int VERSION = 1;
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private MockEmployeeRosterFile() {}
+
+    public static List<MockEmployee> read(Path path) throws IOException {
+        try (final var in = new DataInputStream(new BufferedInputStream(open(path), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(path + " is not a version " + VERSION + " roster file");
+            }
+            final var titles = new String[in.readInt()];
+            for (int i = 0; i < titles.length; i++) {
+                titles[i] = in.readUTF();
+            }
+            final var size = in.readInt();
+            final var employees = new ArrayList<MockEmployee>(size);
+            for (int i = 0; i < size; i++) {
+                final var id = new UUID(in.readLong(), in.readLong());
+                final var name = readString(in);
+                final var salary = readInt(in);
+                final var age = readInt(in);
+                final var title = in.readInt();
+                final var email = readString(in);
+                employees.add(new MockEmployee(id, name, salary, age, title < 0 ? null : titles[title], email));
+            }
+            return employees;
+        }
+    }
+
+    /**
+     * Writes and syncs a temporary file next to the target and moves it into place, so a crash never leaves a
+     * truncated roster behind.
+     */
+    public static void write(Path path, List<MockEmployee> employees) throws IOException {
+        final var titleIndexes = new HashMap<String, Integer>();
+        final var titles = new ArrayList<String>();
+        for (MockEmployee employee : employees) {
+            if (employee.getTitle() != null && !titleIndexes.containsKey(employee.getTitle())) {
+                titleIndexes.put(employee.getTitle(), titles.size());
+                titles.add(employee.getTitle());
+            }
+        }
+        final var absolute = path.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        final var temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (final var out = new DataOutputStream(new BufferedOutputStream(create(path, temporary), BUFFER_SIZE))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(titles.size());
+                for (String title : titles) {
+                    out.writeUTF(title);
+                }
+                out.writeInt(employees.size());
+                for (MockEmployee employee : employees) {
+                    out.writeLong(employee.getId().getMostSignificantBits());
+                    out.writeLong(employee.getId().getLeastSignificantBits());
+                    writeString(out, employee.getName());
+                    writeInt(out, employee.getSalary());
+                    writeInt(out, employee.getAge());
+                    out.writeInt(employee.getTitle() == null ? -1 : titleIndexes.get(employee.getTitle()));
+                    writeString(out, employee.getEmail());
+                }
+            }
+            try (final var written = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                written.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static InputStream open(Path path) throws IOException {
+        final var in = Files.newInputStream(path);
+        return isGzip(path) ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+    }
+
+    private static OutputStream create(Path path, Path temporary) throws IOException {
+        final var out = Files.newOutputStream(temporary);
+        return isGzip(path) ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+    }
+
+    private static boolean isGzip(Path path) {
+        return path.getFileName().toString().endsWith(".gz");
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static Integer readInt(DataInputStream in) throws IOException {
+        final var value = in.readInt();
+        return value == NULL_INT ? null : value;
+    }
+
+    private static void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeInt(value == null ? NULL_INT : value);
+    }
+}
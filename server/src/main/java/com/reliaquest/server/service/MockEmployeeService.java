@@ -4,11 +4,18 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import com.reliaquest.server.model.MockEmployeeSalaryStatistics;
+import com.reliaquest.server.repository.MockEmployeeChangeLog;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import java.time.Duration;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,37 +29,108 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeRepository mockEmployeeRepository;
+
+    private final MockEmployeeChangeLog mockEmployeeChangeLog;
+
+    /**
+     * Read it before the roster: a write is counted once its roster is published, so the roster read afterwards is at
+     * least as recent as the version.
+     */
+    public MockEmployeeChangeLog.RosterVersion getRosterVersion() {
+        return mockEmployeeChangeLog.version();
+    }
+
+    /**
+     * @see MockEmployeeChangeLog#awaitChangesSince(Long, Long, Duration)
+     */
+    public CompletableFuture<MockEmployeeChanges> getChangesSince(Long since, Long epoch, Duration wait) {
+        return mockEmployeeChangeLog.awaitChangesSince(since, epoch, wait);
+    }
+
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeRepository.findAll();
+    }
+
+    public Stream<MockEmployee> streamMockEmployees() {
+        return mockEmployeeRepository.stream();
+    }
+
+    public MockEmployeePage getMockEmployeePage(int offset, int limit) {
+        return mockEmployeeRepository.findPage(offset, limit);
+    }
+
+    public MockEmployeePage getMockEmployeePageAfter(long cursor, int limit) {
+        return mockEmployeeRepository.findPageAfter(cursor, limit);
+    }
+
+    public MockEmployeeSalaryStatistics getSalaryStatistics() {
+        return mockEmployeeRepository.statistics().salaryStatistics();
+    }
+
+    public List<MockEmployee> getTopEarners(int limit) {
+        return mockEmployeeRepository.statistics().topEarners(limit);
+    }
+
+    public Map<String, Long> getCountsByTitle() {
+        return mockEmployeeRepository.statistics().countsByTitle();
+    }
+
+    public Map<String, Long> getCountsByAgeBand() {
+        return mockEmployeeRepository.statistics().countsByAgeBand();
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeRepository.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
+        final var mockEmployee = newMockEmployee(input);
+        mockEmployeeRepository.save(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * @return the created employees in input order, all saved in one repository write
+     */
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var mockEmployees =
+                inputs.stream().map(this::newMockEmployee).toList();
+        mockEmployeeRepository.saveAll(mockEmployees);
+        log.debug("Added {} employees.", mockEmployees.size());
+        return mockEmployees;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
-        }
-
-        return false;
+        final var mockEmployee = mockEmployeeRepository.deleteFirstByName(input.getName());
+        mockEmployee.ifPresent(removed -> log.debug("Removed employee: {}", removed));
+        return mockEmployee.isPresent();
+    }
+
+    public Optional<MockEmployee> deleteById(@NonNull UUID uuid) {
+        final var mockEmployee = mockEmployeeRepository.deleteById(uuid);
+        mockEmployee.ifPresent(removed -> log.debug("Removed employee: {}", removed));
+        return mockEmployee;
+    }
+
+    /**
+     * @return for every input in order, whether an employee with that name was removed
+     */
+    public List<Boolean> deleteAll(@NonNull List<DeleteMockEmployeeInput> inputs) {
+        final var removed = mockEmployeeRepository.deleteFirstByNames(
+                inputs.stream().map(DeleteMockEmployeeInput::getName).toList());
+        log.debug(
+                "Removed {} of {} employees.",
+                removed.stream().filter(Optional::isPresent).count(),
+                inputs.size());
+        return removed.stream().map(Optional::isPresent).toList();
+    }
+
+    private MockEmployee newMockEmployee(CreateMockEmployeeInput input) {
+        return MockEmployee.from(
+                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()),
+                input);
     }
 }
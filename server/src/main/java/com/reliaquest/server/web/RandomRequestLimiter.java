@@ -0,0 +1,60 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.random.RandomGenerator;
+
+/**
+ * The mock server's original rate limiting: after {@code limit} requests a key is rejected until {@code backoff} has
+ * passed since the last admitted one, then starts counting again. Limit and backoff are drawn once from the given
+ * ranges, so clients cannot rely on either; a seeded generator makes them the same on every start.
+ */
+public final class RandomRequestLimiter implements RequestLimiter {
+
+    private final RequestLimitKeys<AtomicReference<Requests>> keys;
+
+    private final int limit;
+
+    private final long backoffNanos;
+
+    /**
+     * @param maxLimit exclusive, like {@code maxBackoff}
+     */
+    public RandomRequestLimiter(
+            RandomGenerator random, int minLimit, int maxLimit, Duration minBackoff, Duration maxBackoff, int maxKeys) {
+        this.keys = new RequestLimitKeys<>(maxKeys, () -> new AtomicReference<>(new Requests(0, 0)));
+        this.limit = random.nextInt(minLimit, maxLimit);
+        this.backoffNanos = random.nextLong(minBackoff.toNanos(), maxBackoff.toNanos());
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public Duration getBackoff() {
+        return Duration.ofNanos(backoffNanos);
+    }
+
+    @Override
+    public long tryAcquire(String key, long nowNanos) {
+        final var state = keys.get(key);
+        while (true) {
+            final var requests = state.get();
+            final Requests next;
+            if (requests.count() < limit) {
+                next = new Requests(requests.count() + 1, nowNanos);
+            } else {
+                final var wait = requests.lastAdmittedNanos() + backoffNanos - nowNanos;
+                if (wait > 0) {
+                    return wait;
+                }
+                next = new Requests(1, nowNanos);
+            }
+            if (state.compareAndSet(requests, next)) {
+                return ADMITTED;
+            }
+        }
+    }
+
+    private record Requests(int count, long lastAdmittedNanos) {}
+}
@@ -0,0 +1,42 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rejects requests the {@link RequestLimiter} does not admit with 429 and a {@code Retry-After} of whole seconds,
+ * rounded up so a client honouring it is admitted on its next attempt.
+ */
+public class RequestLimitInterceptor implements HandlerInterceptor {
+
+    private final RequestLimiter requestLimiter;
+
+    private final Function<HttpServletRequest, String> clientKey;
+
+    public RequestLimitInterceptor(RequestLimiter requestLimiter, Function<HttpServletRequest, String> clientKey) {
+        this.requestLimiter = requestLimiter;
+        this.clientKey = clientKey;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // A long poll is dispatched again once its result is ready; it was counted when it arrived.
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        final var wait = requestLimiter.tryAcquire(clientKey.apply(request), System.nanoTime());
+        if (wait == RequestLimiter.ADMITTED) {
+            return true;
+        }
+        final var seconds = (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-key state of a {@link RequestLimiter}. Keys come from clients, so once {@code maxKeys} are tracked any new key
+ * shares the state of {@link #OVERFLOW_KEY} instead of growing the map without bound.
+ */
+final class RequestLimitKeys<T> {
+
+    static final String OVERFLOW_KEY = "overflow";
+
+    private final ConcurrentHashMap<String, T> states = new ConcurrentHashMap<>();
+
+    private final int maxKeys;
+
+    private final Supplier<T> initial;
+
+    RequestLimitKeys(int maxKeys, Supplier<T> initial) {
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("maxKeys must be positive");
+        }
+        this.maxKeys = maxKeys;
+        this.initial = initial;
+    }
+
+    T get(String key) {
+        final var state = states.get(key);
+        if (state != null) {
+            return state;
+        }
+        final var tracked = states.size() < maxKeys ? key : OVERFLOW_KEY;
+        return states.computeIfAbsent(tracked, ignored -> initial.get());
+    }
+}
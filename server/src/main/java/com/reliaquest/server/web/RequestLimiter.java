@@ -0,0 +1,17 @@
+package com.reliaquest.server.web;
+
+/**
+ * Admission decision of the mock server's rate limiting, per client key. Callers pass the time so a request reads the
+ * clock once, and tests and benchmarks can drive a limiter with their own clock.
+ */
+public interface RequestLimiter {
+
+    long ADMITTED = 0;
+
+    /**
+     * @param key the client the request is counted against
+     * @param nowNanos a {@link System#nanoTime()} reading
+     * @return {@link #ADMITTED}, or how long the client should wait before retrying, in nanoseconds
+     */
+    long tryAcquire(String key, long nowNanos);
+}
@@ -0,0 +1,68 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * At most {@code limit} requests per key within any {@code window}, approximated by the sliding window counter: the
+ * count of the current fixed window plus the count of the previous one, weighted by how much of it the sliding window
+ * still overlaps. Each key's counts are swapped by compare-and-set.
+ */
+public final class SlidingWindowRequestLimiter implements RequestLimiter {
+
+    private final RequestLimitKeys<AtomicReference<Counts>> keys;
+
+    private final int limit;
+
+    private final long windowNanos;
+
+    public SlidingWindowRequestLimiter(int limit, Duration window, int maxKeys) {
+        if (limit < 1 || window.isZero() || window.isNegative()) {
+            throw new IllegalArgumentException("Limit and window must be positive");
+        }
+        this.keys = new RequestLimitKeys<>(maxKeys, () -> new AtomicReference<>(new Counts(Long.MIN_VALUE, 0, 0)));
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    public long tryAcquire(String key, long nowNanos) {
+        final var state = keys.get(key);
+        final var window = Math.floorDiv(nowNanos, windowNanos);
+        final var elapsed = (double) Math.floorMod(nowNanos, windowNanos) / windowNanos;
+        while (true) {
+            final var stored = state.get();
+            final var counts = stored.rollTo(window);
+            if (counts.previous() * (1 - elapsed) + counts.current() + 1 > limit) {
+                return retryAfter(counts, elapsed);
+            }
+            if (state.compareAndSet(stored, new Counts(window, counts.previous(), counts.current() + 1))) {
+                return ADMITTED;
+            }
+        }
+    }
+
+    /*
+     * Earliest time the estimate leaves room for one more request: later in this window when only the weight of the
+     * previous window is in the way, else in the next window once the current count has decayed enough.
+     */
+    private long retryAfter(Counts counts, double elapsed) {
+        final double fraction;
+        if (counts.current() + 1 <= limit) {
+            fraction = 1 - (double) (limit - counts.current() - 1) / counts.previous() - elapsed;
+        } else {
+            fraction = 1 - elapsed + Math.max(0, 1 - (double) (limit - 1) / counts.current());
+        }
+        return Math.max(1, (long) Math.ceil(fraction * windowNanos));
+    }
+
+    private record Counts(long window, long previous, long current) {
+
+        Counts rollTo(long target) {
+            if (target == window) {
+                return this;
+            }
+            return new Counts(target, target == window + 1 ? current : 0, 0);
+        }
+    }
+}
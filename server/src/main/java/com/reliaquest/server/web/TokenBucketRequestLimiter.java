@@ -0,0 +1,46 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket of {@code capacity} tokens refilled at {@code refillPerSecond}, implemented as the generic cell rate
+ * algorithm: each key holds a single theoretical arrival time updated by compare-and-set, so admitting a request never
+ * locks and allocates nothing once the key is known.
+ */
+public final class TokenBucketRequestLimiter implements RequestLimiter {
+
+    private static final long UNUSED = Long.MIN_VALUE;
+
+    private final RequestLimitKeys<AtomicLong> keys;
+
+    private final long emissionIntervalNanos;
+
+    private final long burstToleranceNanos;
+
+    public TokenBucketRequestLimiter(int capacity, double refillPerSecond, int maxKeys) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity and refill rate must be positive");
+        }
+        this.keys = new RequestLimitKeys<>(maxKeys, () -> new AtomicLong(UNUSED));
+        this.emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+    }
+
+    @Override
+    public long tryAcquire(String key, long nowNanos) {
+        final var arrival = keys.get(key);
+        while (true) {
+            final var stored = arrival.get();
+            // A theoretical arrival time in the past means a full bucket.
+            final var tat = stored == UNUSED || stored - nowNanos < 0 ? nowNanos : stored;
+            final var wait = tat - nowNanos - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(stored, tat + emissionIntervalNanos)) {
+                return ADMITTED;
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.reliaquest.server.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.RequestLimiter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@SpringBootTest(properties = {"mock.employees.max=5", "mock.persistence.enabled=false"})
+@AutoConfigureMockMvc
+class MockEmployeeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MockEmployeeService mockEmployeeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /*
+     * Admits every request, a mock answering ADMITTED (0) by default, and counts them.
+     */
+    @MockBean
+    private RequestLimiter requestLimiter;
+
+    private static CreateMockEmployeeInput input(String name) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(50000);
+        input.setAge(30);
+        input.setTitle("Developer");
+        return input;
+    }
+
+    /*
+     * Performs a request answered asynchronously and dispatches its result.
+     */
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        final var started =
+                mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    @Test
+    void rejectsNegativeChangesParameters() throws Exception {
+        performAsync(get("/api/v1/employee/changes").param("since", "-1")).andExpect(status().isBadRequest());
+        performAsync(get("/api/v1/employee/changes").param("since", "0").param("waitMs", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void longPollOnChangesCompletesWithTheNextWrite() throws Exception {
+        final var version = mockEmployeeService.getRosterVersion();
+        final var started = mockMvc.perform(get("/api/v1/employee/changes")
+                        .param("since", Long.toString(version.version()))
+                        .param("epoch", Long.toString(version.epoch()))
+                        .param("waitMs", "20000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        final var ada = mockEmployeeService.create(input("Ada"));
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.reset", is(false)))
+                .andExpect(jsonPath("$.data.changes", hasSize(1)))
+                .andExpect(jsonPath("$.data.changes[0].type", is("CREATED")))
+                .andExpect(jsonPath("$.data.changes[0].id", is(ada.getId().toString())));
+    }
+
+    @Test
+    void countsALongPollOnceAgainstTheRequestLimit() throws Exception {
+        final var version = mockEmployeeService.getRosterVersion();
+        clearInvocations(requestLimiter);
+
+        performAsync(get("/api/v1/employee/changes")
+                        .param("since", Long.toString(version.version()))
+                        .param("epoch", Long.toString(version.epoch()))
+                        .param("waitMs", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.changes", hasSize(0)));
+
+        verify(requestLimiter, times(1)).tryAcquire(anyString(), anyLong());
+    }
+
+    @Test
+    void deleteByIdRemovesOnlyThatEmployee() throws Exception {
+        final var first = mockEmployeeService.create(input("Namesake"));
+        final var second = mockEmployeeService.create(input("Namesake"));
+
+        mockMvc.perform(delete("/api/v1/employee/{id}", second.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id", is(second.getId().toString())))
+                .andExpect(jsonPath("$.data.employee_name", is("Namesake")));
+
+        assertTrue(mockEmployeeService.findById(second.getId()).isEmpty());
+        assertEquals(first, mockEmployeeService.findById(first.getId()).orElseThrow());
+    }
+
+    @Test
+    void deleteByIdAnswersNotFoundForAnUnknownId() throws Exception {
+        mockMvc.perform(delete("/api/v1/employee/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status", is("Successfully processed request.")))
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
+    @Test
+    void rosterIsNotModifiedUntilTheNextWrite() throws Exception {
+        final var first = mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse();
+        final var eTag = first.getHeader(HttpHeaders.ETAG);
+        final var lastModified = first.getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+
+        mockEmployeeService.create(input("Ada"));
+
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("$.data[?(@.employee_name == 'Ada')]").exists());
+    }
+
+    @Test
+    void rejectsPagesOutOfBounds() throws Exception {
+        mockMvc.perform(get("/api/v1/employee/page").param("offset", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("Offset")));
+        mockMvc.perform(get("/api/v1/employee/page").param("limit", "0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void pagesThroughTheRosterInOrderAtMostAThousandAtATime() throws Exception {
+        mockEmployeeService.createAll(Collections.nCopies(MockEmployeeController.MAX_PAGE_SIZE + 1, input("Paged")));
+        final var roster = mockEmployeeService.getMockEmployees();
+
+        final var paged = new ArrayList<String>();
+        String cursor = null;
+        do {
+            final var request = get("/api/v1/employee/page").param("limit", "5000");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            final var page = objectMapper
+                    .readTree(mockMvc.perform(request)
+                            .andExpect(status().isOk())
+                            .andReturn()
+                            .getResponse()
+                            .getContentAsString())
+                    .get("data");
+            assertTrue(page.get("employees").size() <= MockEmployeeController.MAX_PAGE_SIZE);
+            page.get("employees").forEach(employee -> paged.add(employee.get("id").asText()));
+            cursor = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        assertEquals(roster.stream().map(employee -> employee.getId().toString()).toList(), paged);
+        mockMvc.perform(get("/api/v1/employee/page").param("offset", "1").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.employees", hasSize(2)))
+                .andExpect(jsonPath("$.data.employees[0].id", is(roster.get(1).getId().toString())));
+    }
+
+    @Test
+    void streamsTheRosterAsNewlineDelimitedJson() throws Exception {
+        final var roster = mockEmployeeService.getMockEmployees();
+
+        final var body = performAsync(get("/api/v1/employee/stream"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        final List<MockEmployee> streamed = new ArrayList<>();
+        for (final var line : body.split("\n")) {
+            streamed.add(objectMapper.readValue(line, MockEmployee.class));
+        }
+        assertTrue(body.endsWith("\n"));
+        assertEquals(roster, streamed);
+    }
+}
@@ -0,0 +1,118 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import com.reliaquest.server.repository.ObjectMockEmployeeRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogMockEmployeeStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 50000, 30, "Developer", name.toLowerCase() + "@company.com");
+    }
+
+    private static List<MockEmployee> roster(String prefix, int size) {
+        return IntStream.range(0, size).mapToObj(i -> employee(prefix + " " + i)).toList();
+    }
+
+    private MockEmployeeRepository open(List<MockEmployee> seed, long snapshotLogBytes) {
+        return new ObjectMockEmployeeRepository(seed, new LogMockEmployeeStore(directory, true, snapshotLogBytes));
+    }
+
+    @Test
+    void recoversWritesInsteadOfSeeding() {
+        final var store = new LogMockEmployeeStore(directory, true, Long.MAX_VALUE);
+        final var repository = new ObjectMockEmployeeRepository(roster("Seed", 100), store);
+        final var added = employee("Added");
+        repository.save(added);
+        repository.saveAll(List.of(added.toBuilder().salary(60000).build()));
+        repository.deleteById(repository.findAll().get(10).getId());
+        repository.deleteFirstByNames(List.of("seed 20", "Nobody", "Seed 30"));
+        final var expected = repository.findAll();
+        store.close();
+
+        final var recovered = open(roster("Other", 5), Long.MAX_VALUE);
+
+        assertEquals(expected, recovered.findAll());
+        assertEquals(60000, recovered.findById(added.getId()).orElseThrow().getSalary());
+        assertEquals(98, recovered.count());
+    }
+
+    @Test
+    void snapshotsReplaceOldSegments() throws Exception {
+        final var store = new LogMockEmployeeStore(directory, true, 4096);
+        final var repository = new ObjectMockEmployeeRepository(roster("Seed", 10), store);
+        for (MockEmployee employee : roster("Added", 500)) {
+            repository.save(employee);
+        }
+        final var expected = repository.findAll();
+        store.close();
+
+        try (final var files = Files.list(directory)) {
+            final var names = files.map(path -> path.getFileName().toString()).toList();
+            assertEquals(1, names.stream().filter(name -> name.startsWith("snapshot-")).count());
+            assertTrue(names.stream().filter(name -> name.startsWith("wal-")).count() <= 2);
+        }
+        assertEquals(expected, open(List.of(), 4096).findAll());
+    }
+
+    @Test
+    void ignoresRecordTornAtEndOfLog() throws IOException {
+        final var store = new LogMockEmployeeStore(directory, true, Long.MAX_VALUE);
+        final var repository = new ObjectMockEmployeeRepository(roster("Seed", 3), store);
+        final var kept = employee("Kept");
+        repository.save(kept);
+        store.close();
+
+        try (final var files = Files.list(directory)) {
+            final var log = files.filter(path -> path.getFileName().toString().startsWith("wal-"))
+                    .max(Path::compareTo)
+                    .orElseThrow();
+            // A crash in the middle of appending the next record.
+            Files.write(log, new byte[] {0, 0, 1, 0, 42, 42}, StandardOpenOption.APPEND);
+        }
+
+        final var recovered = open(List.of(), Long.MAX_VALUE);
+        assertEquals(4, recovered.count());
+        assertTrue(recovered.findById(kept.getId()).isPresent());
+    }
+
+    @Test
+    void recoversAgainAfterRecoveringFromTornRecord() throws IOException {
+        final var store = new LogMockEmployeeStore(directory, true, Long.MAX_VALUE);
+        final var repository = new ObjectMockEmployeeRepository(roster("Seed", 3), store);
+        repository.save(employee("Kept"));
+        store.close();
+        try (final var files = Files.list(directory)) {
+            final var log = files.filter(path -> path.getFileName().toString().startsWith("wal-"))
+                    .max(Path::compareTo)
+                    .orElseThrow();
+            Files.write(log, new byte[] {0, 0, 1, 0, 42, 42}, StandardOpenOption.APPEND);
+        }
+
+        final var firstStore = new LogMockEmployeeStore(directory, true, Long.MAX_VALUE);
+        final var first = new ObjectMockEmployeeRepository(List.of(), firstStore);
+        final var added = employee("Added");
+        first.save(added);
+        firstStore.close();
+
+        // The torn segment is no longer the last one.
+        final var second = open(List.of(), Long.MAX_VALUE);
+        assertEquals(5, second.count());
+        assertTrue(second.findById(added.getId()).isPresent());
+    }
+}
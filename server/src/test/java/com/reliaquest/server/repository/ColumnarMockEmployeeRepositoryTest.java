@@ -0,0 +1,12 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+class ColumnarMockEmployeeRepositoryTest extends MockEmployeeRepositoryTest {
+
+    @Override
+    MockEmployeeRepository repository(List<MockEmployee> mockEmployees, MockEmployeeStore store) {
+        return new ColumnarMockEmployeeRepository(mockEmployees, store);
+    }
+}
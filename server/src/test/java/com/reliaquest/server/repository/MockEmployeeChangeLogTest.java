@@ -0,0 +1,53 @@
+package com.reliaquest.server.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeChangeLogTest {
+
+    private final MockEmployeeChangeLog changeLog = new MockEmployeeChangeLog(10);
+
+    private final MockEmployeeRepository repository =
+            new ObjectMockEmployeeRepository(List.of(), changeLog.recording(MockEmployeeStore.NONE));
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 50000, 30, "Developer", name.toLowerCase() + "@company.com");
+    }
+
+    @Test
+    void forgetsLongPollsThatTimedOut() throws Exception {
+        final var version = changeLog.version();
+
+        for (int i = 0; i < 3; i++) {
+            final var changes = changeLog
+                    .awaitChangesSince(version.version(), version.epoch(), Duration.ofMillis(10))
+                    .get(5, TimeUnit.SECONDS);
+            assertTrue(changes.changes().isEmpty());
+        }
+
+        assertEquals(0, changeLog.waiting());
+    }
+
+    @Test
+    void completesEveryLongPollWithTheNextWrite() throws Exception {
+        final var version = changeLog.version();
+        final var first = changeLog.awaitChangesSince(version.version(), version.epoch(), Duration.ofSeconds(30));
+        final var second = changeLog.awaitChangesSince(version.version(), version.epoch(), Duration.ofSeconds(30));
+        assertFalse(first.isDone());
+        assertEquals(2, changeLog.waiting());
+
+        repository.save(employee("Ada"));
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).changes().size());
+        assertEquals(1, second.get(5, TimeUnit.SECONDS).changes().size());
+        assertEquals(0, changeLog.waiting());
+    }
+}
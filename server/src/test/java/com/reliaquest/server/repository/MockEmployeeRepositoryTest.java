@@ -0,0 +1,262 @@
+package com.reliaquest.server.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeSalaryStatistics;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Behavior every {@link MockEmployeeRepository} layout shares.
+ */
+abstract class MockEmployeeRepositoryTest {
+
+    abstract MockEmployeeRepository repository(List<MockEmployee> mockEmployees, MockEmployeeStore store);
+
+    private MockEmployeeRepository repository(List<MockEmployee> mockEmployees) {
+        return repository(mockEmployees, MockEmployeeStore.NONE);
+    }
+
+    private static MockEmployee employee(String name) {
+        return employee(name, 50000, 30, "Developer");
+    }
+
+    private static MockEmployee employee(String name, int salary, int age, String title) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(age)
+                .title(title)
+                .email(name.toLowerCase() + "@company.com")
+                .build();
+    }
+
+    private static List<MockEmployee> roster(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> employee("Seed " + i))
+                .toList();
+    }
+
+    @Test
+    void keepsInsertionOrderAcrossDeletes() {
+        final var seed = roster(3000);
+        final var repository = repository(seed);
+        final var added = employee("Added");
+
+        repository.save(added);
+        assertTrue(repository.delete(seed.get(1500)));
+        assertFalse(repository.delete(seed.get(1500)));
+
+        final var expected = new ArrayList<>(seed);
+        expected.remove(1500);
+        expected.add(added);
+        assertEquals(expected, repository.findAll());
+        assertEquals(expected.size(), repository.count());
+        assertEquals(added, repository.findById(added.getId()).orElseThrow());
+        assertTrue(repository.findById(seed.get(1500).getId()).isEmpty());
+    }
+
+    @Test
+    void deletesFirstInsertedEmployeeWithNameIgnoringCase() {
+        final var first = employee("Jill Jenkins");
+        final var second = employee("JILL JENKINS");
+        final var repository = repository(List.of(first, second));
+
+        assertEquals(first, repository.deleteFirstByName("jill jenkins").orElseThrow());
+        assertEquals(second, repository.deleteFirstByName("Jill Jenkins").orElseThrow());
+        assertTrue(repository.deleteFirstByName("Jill Jenkins").isEmpty());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void deletesBatchOfNamesInOrder() {
+        final var seed = roster(2500);
+        final var first = employee("Jill Jenkins");
+        final var second = employee("Jill Jenkins");
+        final var repository = repository(List.of());
+        repository.saveAll(List.of(first, seed.get(0), second));
+        repository.saveAll(seed.subList(1, seed.size()));
+
+        final var removed = repository.deleteFirstByNames(
+                List.of("jill jenkins", "Nobody", "Seed 2000", "Jill Jenkins", "Jill Jenkins"));
+
+        assertEquals(first, removed.get(0).orElseThrow());
+        assertTrue(removed.get(1).isEmpty());
+        assertEquals(seed.get(2000), removed.get(2).orElseThrow());
+        assertEquals(second, removed.get(3).orElseThrow());
+        assertTrue(removed.get(4).isEmpty());
+        final var expected = new ArrayList<>(seed);
+        expected.remove(2000);
+        assertEquals(expected, repository.findAll());
+    }
+
+    @Test
+    void leavesRosterUnchangedWhenStoreRejectsWrite() {
+        final var seed = roster(10);
+        final var repository = repository(seed, new MockEmployeeStore() {
+            @Override
+            public long logSaved(Collection<MockEmployee> mockEmployees) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+
+            @Override
+            public long logDeleted(Collection<UUID> ids) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+        });
+        final var added = employee("Added");
+
+        assertThrows(UncheckedIOException.class, () -> repository.save(added));
+        assertThrows(UncheckedIOException.class, () -> repository.deleteById(seed.get(3).getId()));
+        assertThrows(UncheckedIOException.class, () -> repository.deleteFirstByNames(List.of("Seed 4")));
+
+        assertEquals(seed, repository.findAll());
+        assertTrue(repository.findById(added.getId()).isEmpty());
+        assertEquals(seed.get(3), repository.findById(seed.get(3).getId()).orElseThrow());
+        assertEquals(10, repository.statistics().salaryStatistics().count());
+    }
+
+    @Test
+    void keepsIndexesAndCursorsAcrossCompaction() {
+        final var seed = roster(10_000);
+        final var repository = repository(seed);
+        final var cursor = repository.findPage(0, 100).nextCursor();
+
+        final var survivors = new ArrayList<MockEmployee>();
+        for (int i = 0; i < seed.size(); i++) {
+            if (i % 10 == 0) {
+                survivors.add(seed.get(i));
+            } else if (i % 2 == 0) {
+                assertTrue(repository.delete(seed.get(i)));
+            } else {
+                assertTrue(repository.deleteFirstByName(seed.get(i).getName()).isPresent());
+            }
+        }
+        final var duplicate = employee(survivors.get(1).getName().toUpperCase());
+        repository.save(duplicate);
+        survivors.add(duplicate);
+
+        assertEquals(survivors, repository.findAll());
+        survivors.forEach(mockEmployee ->
+                assertEquals(mockEmployee, repository.findById(mockEmployee.getId()).orElseThrow()));
+        assertEquals(survivors.subList(10, 30), repository.findPageAfter(Long.parseLong(cursor), 20).employees());
+        assertEquals(survivors.subList(500, 510), repository.findPage(500, 10).employees());
+        assertEquals(survivors.get(1), repository.deleteFirstByName(duplicate.getName()).orElseThrow());
+        assertEquals(duplicate, repository.deleteFirstByName(duplicate.getName()).orElseThrow());
+        assertEquals(survivors.size() - 2, repository.count());
+    }
+
+    @Test
+    void maintainsStatisticsAcrossWrites() {
+        final var first = employee("First", 70000, 25, "Developer");
+        final var second = employee("Second", 90000, 41, "Manager");
+        final var third = employee("Third", 70000, 29, "Developer");
+        final var repository = repository(List.of(first, second, third));
+        final var statistics = repository.statistics();
+
+        assertEquals(List.of(second, first, third), statistics.topEarners(5));
+        assertEquals(new MockEmployeeSalaryStatistics(3, 70000, 90000, 230000 / 3.0), statistics.salaryStatistics());
+        assertEquals(Map.of("Developer", 2L, "Manager", 1L), statistics.countsByTitle());
+        assertEquals(Map.of("20-29", 2L, "40-49", 1L), statistics.countsByAgeBand());
+
+        repository.delete(second);
+        repository.save(first.toBuilder().salary(10000).build());
+
+        assertEquals(List.of(third, repository.findById(first.getId()).orElseThrow()), statistics.topEarners(5));
+        assertEquals(new MockEmployeeSalaryStatistics(2, 10000, 70000, 40000.0), statistics.salaryStatistics());
+        assertEquals(Map.of("Developer", 2L), statistics.countsByTitle());
+        assertEquals(Map.of("20-29", 2L), statistics.countsByAgeBand());
+
+        repository.deleteFirstByNames(List.of("First", "Third"));
+        assertEquals(new MockEmployeeSalaryStatistics(0, null, null, null), statistics.salaryStatistics());
+        assertTrue(statistics.countsByTitle().isEmpty());
+    }
+
+    @Test
+    void readsSeeConsistentRosterUnderConcurrentWrites() throws Exception {
+        final int writers = 8;
+        final int writesPerWriter = 5000;
+        final var seed = roster(10_000);
+        final var repository = repository(seed);
+        final var survivors = new ConcurrentLinkedQueue<MockEmployee>();
+        final var writing = new AtomicBoolean(true);
+        final var start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(writers + 4);
+        try {
+            final var writes = new ArrayList<Future<?>>();
+            for (int w = 0; w < writers; w++) {
+                final int writer = w;
+                writes.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < writesPerWriter; i++) {
+                        final var mockEmployee = employee("Writer " + writer + " employee " + i);
+                        repository.save(mockEmployee);
+                        // Delete every other employee again, by name or by id.
+                        if (i % 2 == 1) {
+                            survivors.add(mockEmployee);
+                        } else if (i % 4 == 0) {
+                            assertTrue(repository.deleteFirstByName(mockEmployee.getName()).isPresent());
+                        } else {
+                            assertTrue(repository.delete(mockEmployee));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            final var reads = new ArrayList<Future<Integer>>();
+            for (int r = 0; r < 4; r++) {
+                reads.add(executor.submit(() -> {
+                    start.await();
+                    int snapshots = 0;
+                    while (writing.get()) {
+                        final var snapshot = repository.findAll();
+                        final var ids = new HashSet<UUID>();
+                        snapshot.forEach(mockEmployee -> assertTrue(ids.add(mockEmployee.getId())));
+                        // The seed is never deleted, so every snapshot starts with it, complete and in order.
+                        assertTrue(snapshot.size() >= seed.size());
+                        assertEquals(seed, snapshot.subList(0, seed.size()));
+                        snapshots++;
+                    }
+                    return snapshots;
+                }));
+            }
+            start.countDown();
+            for (Future<?> write : writes) {
+                write.get(1, TimeUnit.MINUTES);
+            }
+            writing.set(false);
+            for (Future<Integer> read : reads) {
+                assertTrue(read.get(1, TimeUnit.MINUTES) > 0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final var expectedSize = seed.size() + writers * writesPerWriter / 2;
+        assertEquals(expectedSize, repository.count());
+        assertEquals(expectedSize, repository.findAll().size());
+        assertEquals(new HashSet<>(survivors), new HashSet<>(repository.findAll().subList(seed.size(), expectedSize)));
+        survivors.forEach(mockEmployee ->
+                assertEquals(mockEmployee, repository.findById(mockEmployee.getId()).orElseThrow()));
+    }
+}
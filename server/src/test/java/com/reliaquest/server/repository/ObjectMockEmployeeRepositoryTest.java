@@ -0,0 +1,12 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+class ObjectMockEmployeeRepositoryTest extends MockEmployeeRepositoryTest {
+
+    @Override
+    MockEmployeeRepository repository(List<MockEmployee> mockEmployees, MockEmployeeStore store) {
+        return new ObjectMockEmployeeRepository(mockEmployees, store);
+    }
+}
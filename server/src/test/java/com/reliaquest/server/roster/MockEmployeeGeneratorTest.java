@@ -0,0 +1,47 @@
+package com.reliaquest.server.roster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.HashSet;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    @Test
+    void sameSeedGeneratesSameRoster() {
+        final var size = 2 * MockEmployeeGenerator.CHUNK_SIZE + 7;
+        final var roster = new MockEmployeeGenerator(Locale.ROOT, 42).generate(size);
+
+        assertEquals(size, roster.size());
+        assertEquals(roster, new MockEmployeeGenerator(Locale.ROOT, 42).generate(size));
+        assertNotEquals(roster, new MockEmployeeGenerator(Locale.ROOT, 43).generate(size));
+    }
+
+    @Test
+    void generatesValidEmployees() {
+        final var roster = new MockEmployeeGenerator(Locale.ROOT, 7).generate(10_000);
+
+        assertEquals(roster.size(), new HashSet<>(roster.stream().map(MockEmployee::getId).toList()).size());
+        for (MockEmployee employee : roster) {
+            assertEquals(4, employee.getId().version());
+            assertTrue(employee.getSalary() >= 30000 && employee.getSalary() < 500000);
+            assertTrue(employee.getAge() >= 16 && employee.getAge() < 70);
+            assertTrue(employee.getEmail().endsWith("@company.com"));
+            assertTrue(employee.getName().contains(" "));
+        }
+    }
+
+    @Test
+    void generatesDistinctEmailsBeyondTheVocabulary() {
+        final var roster = new MockEmployeeGenerator(Locale.ROOT, 7).generate(MockEmployeeGenerator.CHUNK_SIZE + 7);
+
+        assertEquals(roster.size(), new HashSet<>(roster.stream().map(MockEmployee::getEmail).toList()).size());
+        for (MockEmployee employee : roster) {
+            assertTrue(employee.getEmail().matches("[a-z0-9]*\\.[a-z0-9]*\\d+@company\\.com"), employee::getEmail);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.reliaquest.server.roster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeeRosterFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsRoster() throws IOException {
+        final var roster = new ArrayList<>(new MockEmployeeGenerator(Locale.ROOT, 42).generate(5_000));
+        roster.add(new MockEmployee(UUID.randomUUID(), "Only Name", null, null, null, null));
+
+        for (String name : new String[] {"roster.bin", "roster.bin.gz"}) {
+            final var path = directory.resolve(name);
+            MockEmployeeRosterFile.write(path, roster);
+            assertEquals(roster, MockEmployeeRosterFile.read(path));
+        }
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        final var path = Files.writeString(directory.resolve("roster.json"), "[{\"id\": 1}]");
+
+        assertThrows(IOException.class, () -> MockEmployeeRosterFile.read(path));
+    }
+}
@@ -0,0 +1,165 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.repository.MockEmployeeChangeLog;
+import com.reliaquest.server.repository.MockEmployeeStore;
+import com.reliaquest.server.repository.ObjectMockEmployeeRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeServiceTest {
+
+    private final MockEmployeeChangeLog changeLog = new MockEmployeeChangeLog(4);
+
+    private final MockEmployeeService service = new MockEmployeeService(
+            new Faker(),
+            new ObjectMockEmployeeRepository(List.of(), changeLog.recording(MockEmployeeStore.NONE)),
+            changeLog);
+
+    private static CreateMockEmployeeInput input(String name) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(50000);
+        input.setAge(30);
+        input.setTitle("Developer");
+        return input;
+    }
+
+    private static DeleteMockEmployeeInput deleteInput(String name) {
+        final var input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+
+    @Test
+    void countsOnlyWritesThatChangeTheRoster() {
+        final var initial = service.getRosterVersion();
+
+        final var created = service.create(input("Ada"));
+        final var afterCreate = service.getRosterVersion();
+        service.createAll(List.of(input("Grace"), input("Linus")));
+        final var afterCreateAll = service.getRosterVersion();
+
+        assertEquals(initial.version() + 1, afterCreate.version());
+        assertEquals(afterCreate.version() + 1, afterCreateAll.version());
+        assertNotEquals(initial.eTag(), afterCreate.eTag());
+
+        service.createAll(List.of());
+        assertFalse(service.delete(deleteInput("Nobody")));
+        assertTrue(service.deleteById(UUID.randomUUID()).isEmpty());
+        assertEquals(List.of(false), service.deleteAll(List.of(deleteInput("Nobody"))));
+        assertEquals(afterCreateAll, service.getRosterVersion());
+
+        assertTrue(service.deleteById(created.getId()).isPresent());
+        assertTrue(service.delete(deleteInput("grace")));
+        assertEquals(List.of(true, false), service.deleteAll(List.of(deleteInput("Linus"), deleteInput("Linus"))));
+
+        final var afterDeletes = service.getRosterVersion();
+        assertEquals(afterCreateAll.version() + 3, afterDeletes.version());
+        assertEquals(initial.epoch(), afterDeletes.epoch());
+        assertFalse(afterDeletes.lastModified().isBefore(afterCreateAll.lastModified()));
+    }
+
+    @Test
+    void deletesExactlyTheEmployeeWithTheId() {
+        final var first = service.create(input("Ada"));
+        final var second = service.create(input("Ada"));
+
+        assertEquals(second, service.deleteById(second.getId()).orElseThrow());
+        assertTrue(service.deleteById(second.getId()).isEmpty());
+        assertEquals(first, service.findById(first.getId()).orElseThrow());
+        assertEquals(List.of(first), service.getMockEmployees());
+    }
+
+    @Test
+    void followsCreatesAndDeletesUntilTheyAreNoLongerRetained() {
+        final var start = service.getChangesSince(null, null, Duration.ZERO).join();
+        assertTrue(start.reset());
+
+        final var ada = service.create(input("Ada"));
+        final var created = service.createAll(List.of(input("Grace"), input("Linus")));
+        service.deleteById(ada.getId());
+
+        final var changes = service.getChangesSince(start.version(), start.epoch(), Duration.ZERO).join();
+        assertFalse(changes.reset());
+        assertEquals(start.version() + 3, changes.version());
+        assertEquals(
+                List.of(ada.getId(), created.get(0).getId(), created.get(1).getId(), ada.getId()),
+                changes.changes().stream().map(MockEmployeeChange::id).toList());
+        assertEquals(
+                List.of(MockEmployeeChange.Type.CREATED, MockEmployeeChange.Type.DELETED),
+                List.of(changes.changes().get(2).type(), changes.changes().get(3).type()));
+        final var afterAda = service.getChangesSince(start.version() + 1, start.epoch(), Duration.ZERO)
+                .join();
+        assertEquals(
+                List.of(created.get(0).getId(), created.get(1).getId(), ada.getId()),
+                afterAda.changes().stream().map(MockEmployeeChange::id).toList());
+
+        service.create(input("Barbara"));
+        assertTrue(service.getChangesSince(start.version(), start.epoch(), Duration.ZERO).join().reset());
+        assertTrue(service.getChangesSince(changes.version(), start.epoch() + 1, Duration.ZERO).join().reset());
+        assertEquals(
+                1,
+                service.getChangesSince(changes.version(), start.epoch(), Duration.ZERO)
+                        .join()
+                        .changes()
+                        .size());
+    }
+
+    @Test
+    void longPollCompletesWithTheNextWrite() throws Exception {
+        final var version = service.getRosterVersion();
+        final var pending = service.getChangesSince(version.version(), version.epoch(), Duration.ofSeconds(30));
+        assertFalse(pending.isDone());
+
+        final var ada = service.create(input("Ada"));
+
+        final var changes = pending.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(ada), changes.changes().stream().map(MockEmployeeChange::employee).toList());
+        assertTrue(service.getChangesSince(changes.version(), version.epoch(), Duration.ofMillis(10))
+                .get(5, TimeUnit.SECONDS)
+                .changes()
+                .isEmpty());
+    }
+
+    @Test
+    void recordsOnlyWritesTheStoreAccepted() {
+        final var failing = new MockEmployeeStore() {
+            @Override
+            public long logSaved(Collection<MockEmployee> mockEmployees) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+        };
+        final var failingChangeLog = new MockEmployeeChangeLog(4);
+        final var failingService = new MockEmployeeService(
+                new Faker(),
+                new ObjectMockEmployeeRepository(List.of(), failingChangeLog.recording(failing)),
+                failingChangeLog);
+        final var version = failingService.getRosterVersion();
+
+        assertThrows(UncheckedIOException.class, () -> failingService.create(input("Ada")));
+
+        assertEquals(version, failingService.getRosterVersion());
+        assertTrue(failingService
+                .getChangesSince(version.version(), version.epoch(), Duration.ZERO)
+                .join()
+                .changes()
+                .isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class RequestLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tokenBucketAdmitsBurstThenRefills() {
+        final var limiter = new TokenBucketRequestLimiter(3, 2, 100);
+        final var start = 1_000 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(RequestLimiter.ADMITTED, limiter.tryAcquire("a", start));
+        }
+        assertEquals(SECOND / 2, limiter.tryAcquire("a", start));
+        assertEquals(RequestLimiter.ADMITTED, limiter.tryAcquire("b", start));
+
+        assertEquals(RequestLimiter.ADMITTED, limiter.tryAcquire("a", start + SECOND / 2));
+        assertTrue(limiter.tryAcquire("a", start + SECOND / 2) > 0);
+        // Idle for long enough, the bucket is full again but never holds more than its capacity.
+        final var later = start + 10 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(RequestLimiter.ADMITTED, limiter.tryAcquire("a", later));
+        }
+        assertTrue(limiter.tryAcquire("a", later) > 0);
+    }
+
+    @Test
+    void slidingWindowWeighsPreviousWindow() {
+        final var limiter = new SlidingWindowRequestLimiter(10, Duration.ofSeconds(1), 100);
+        final var start = 1_000 * SECOND;
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(RequestLimiter.ADMITTED, limiter.tryAcquire("a", start));
+        }
+        // The full previous window still counts at the start of the next one.
+        assertEquals(SECOND + SECOND / 10, limiter.tryAcquire("a", start));
+
+        // Half way into the next window half of the previous 10 still count.
+        final var halfWay = start + SECOND + SECOND / 2;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(RequestLimiter.ADMITTED, limiter.tryAcquire("a", halfWay));
+        }
+        final var wait = limiter.tryAcquire("a", halfWay);
+        assertTrue(wait > 0);
+        assertEquals(RequestLimiter.ADMITTED, limiter.tryAcquire("a", halfWay + wait));
+    }
+
+    @Test
+    void seededRandomLimiterIsDeterministic() {
+        final var first = new RandomRequestLimiter(
+                new SplittableRandom(42), 5, 10, Duration.ofSeconds(30), Duration.ofSeconds(90), 100);
+        final var second = new RandomRequestLimiter(
+                new SplittableRandom(42), 5, 10, Duration.ofSeconds(30), Duration.ofSeconds(90), 100);
+        assertEquals(first.getLimit(), second.getLimit());
+        assertEquals(first.getBackoff(), second.getBackoff());
+
+        final var start = 1_000 * SECOND;
+        for (int i = 0; i < first.getLimit(); i++) {
+            assertEquals(RequestLimiter.ADMITTED, first.tryAcquire("a", start + i));
+        }
+        final var last = start + first.getLimit() - 1;
+        assertEquals(first.getBackoff().toNanos() - 1, first.tryAcquire("a", last + 1));
+        assertEquals(RequestLimiter.ADMITTED, first.tryAcquire("a", last + first.getBackoff().toNanos()));
+    }
+
+    @Test
+    void keysBeyondTheLimitShareOneState() {
+        final var limiter = new TokenBucketRequestLimiter(1, 1, 2);
+        final var now = 1_000 * SECOND;
+
+        assertEquals(RequestLimiter.ADMITTED, limiter.tryAcquire("a", now));
+        assertEquals(RequestLimiter.ADMITTED, limiter.tryAcquire("b", now));
+        assertEquals(RequestLimiter.ADMITTED, limiter.tryAcquire("c", now));
+        assertTrue(limiter.tryAcquire("d", now) > 0);
+    }
+}